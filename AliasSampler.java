@@ -0,0 +1,60 @@
+import java.util.random.RandomGenerator;
+
+// Walker/Vose alias table: O(n) build, O(1) per draw
+public class AliasSampler implements WeightedSampler {
+
+    double[] prob = new double[0];
+    int[] alias = new int[0];
+    int[] small = new int[0];
+    int[] large = new int[0];
+    int n;
+
+    @Override
+    public void build(double[] weights, int n) {
+        if (prob.length < n) {
+            prob = new double[n];
+            alias = new int[n];
+            small = new int[n];
+            large = new int[n];
+        }
+        this.n = n;
+
+        double total = 0;
+        for (int i = 0; i < n; i++)
+            total += weights[i];
+
+        int ns = 0, nl = 0;
+        for (int i = 0; i < n; i++) {
+            // scaled so that the average column holds exactly 1.0
+            prob[i] = total > 0 ? weights[i] * n / total : 1.0;
+            alias[i] = i;
+            if (prob[i] < 1.0)
+                small[ns++] = i;
+            else
+                large[nl++] = i;
+        }
+
+        while (ns > 0 && nl > 0) {
+            int s = small[--ns];
+            int l = large[--nl];
+            alias[s] = l;
+            prob[l] -= 1.0 - prob[s];
+            if (prob[l] < 1.0)
+                small[ns++] = l;
+            else
+                large[nl++] = l;
+        }
+        // leftovers are only off by rounding error
+        while (nl > 0)
+            prob[large[--nl]] = 1.0;
+        while (ns > 0)
+            prob[small[--ns]] = 1.0;
+    }
+
+    @Override
+    public int sample(RandomGenerator rng) {
+        double u = rng.nextDouble() * n;
+        int i = (int) u;
+        return u - i < prob[i] ? i : alias[i];
+    }
+}
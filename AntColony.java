@@ -1,4 +1,4 @@
-import java.util.Random;
+import java.util.random.RandomGenerator;
 
 public class AntColony{
 
@@ -21,7 +21,7 @@ public class AntColony{
     static final double ALPHA = 1.0;       // pheromone influence
     static final double BETA  = 2.0;       // heuristic (1/cost) influence
 
-    static final Random RNG = new Random();
+    static final RandomGenerator RNG = RngService.global().stream("AntColony");
 
     // ---------- Utilities ----------
     static double pathCost(int[] path, int len) {
@@ -159,6 +159,7 @@ public class AntColony{
 
     // ---------- Main ----------
     public static void main(String[] args) {
+        RngService.print_global_seed();
         seedPheromoneWithThreeAnts();
         runFourthAnt();
     }
@@ -0,0 +1,167 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+// Asynchronous PSO for slow objectives with uneven latency (simulations,
+// calls to a local service). Every particle is its own virtual thread that
+// evaluates, updates its personal best, publishes to gbest and moves
+// without waiting for the rest of the swarm, so fast particles are never
+// held back by slow ones. gbest is an immutable ParallelPSO.GlobalBest
+// swapped by CAS; a Semaphore bounds how many evaluations are in flight.
+// Each particle owns its rows of the Swarm and its own RNG stream.
+//
+// The Termination policy is consulted by whichever particle completes every
+// n-th evaluation, so one "iteration" is n evaluations. Needs Java 21.
+public class AsyncPSO {
+
+    // CONFIGURATION (demo)
+    static final int PARTICLES = 64;
+    static final int DIMENSIONS = 10;
+    static final int MAX_IN_FLIGHT = 16;
+    static final long EVALUATIONS = 20_000;
+    static final double W = 0.72, C1 = 1.49, C2 = 1.49;
+    static final double LOWER = -5, UPPER = 5;
+
+    final Swarm swarm;
+    final Objective objective;
+    final double w, c1, c2, lower, upper;
+    final Semaphore in_flight;
+    final RngStream[] rngs;
+    final AtomicReference<ParallelPSO.GlobalBest> global =
+            new AtomicReference<>(ParallelPSO.GlobalBest.NONE);
+    final AtomicLong evaluations = new AtomicLong();
+    volatile boolean stopped;
+
+    AsyncPSO(int particles, int dims, double lower, double upper, double w, double c1, double c2, int max_in_flight,
+            Objective objective, long seed) {
+        if (max_in_flight < 1)
+            throw new IllegalArgumentException("max_in_flight must be >= 1");
+        this.swarm = new Swarm(particles, dims);
+        this.objective = objective;
+        this.lower = lower;
+        this.upper = upper;
+        this.w = w;
+        this.c1 = c1;
+        this.c2 = c2;
+        this.in_flight = new Semaphore(max_in_flight);
+        RngService service = new RngService(seed);
+        rngs = new RngStream[particles];
+        for (int i = 0; i < particles; i++)
+            rngs[i] = service.stream(i);
+        swarm.initialize(lower, upper, ParallelPSO.VELOCITY_FRACTION * (upper - lower), service.stream("init"));
+    }
+
+    // one virtual thread per particle until the policy fires
+    Termination.StopReason run(Termination termination) {
+        termination.start();
+        stopped = false;
+        evaluations.set(0);
+        List<Future<?>> particles = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < swarm.n; i++) {
+                int id = i;
+                particles.add(executor.submit(() -> particle(id, termination)));
+            }
+        } // close() waits for every particle
+        for (Future<?> f : particles)
+            ParallelEvaluator.await(f);
+        return termination.reason;
+    }
+
+    // a failed evaluation stops every particle; run() then rethrows it through the Future
+    void particle(int i, Termination termination) {
+        try {
+            fly(i, termination);
+        } catch (RuntimeException | Error e) {
+            stopped = true;
+            throw e;
+        }
+    }
+
+    void fly(int i, Termination termination) {
+        double[] row = new double[swarm.dims];
+        ParallelPSO.GlobalBest seen = null;
+        while (!stopped) {
+            double score;
+            in_flight.acquireUninterruptibly();
+            try {
+                System.arraycopy(swarm.x, i * swarm.dims, row, 0, swarm.dims);
+                score = objective.evaluate(row);
+            } finally {
+                in_flight.release();
+            }
+            if (swarm.update_best(i, score))
+                publish(i);
+            if (evaluations.incrementAndGet() % swarm.n == 0)
+                check(termination);
+
+            ParallelPSO.GlobalBest g = global.get();
+            if (g != seen) {
+                if (g.position != null)
+                    swarm.tile(g.position, i, i + 1);
+                else // no finite score yet: follow the personal best only
+                    swarm.follow_own(i, i + 1);
+                seen = g;
+            }
+            swarm.move(i, i + 1, w, c1, c2, lower, upper, rngs[i]);
+        }
+    }
+
+    // Termination is not thread-safe; checks are rare (every n evaluations)
+    void check(Termination termination) {
+        synchronized (termination) {
+            if (!stopped && termination.should_stop(best_score(), Double.NaN, evaluations.get()))
+                stopped = true;
+        }
+    }
+
+    // same CAS loop as ParallelPSO: only a strictly better snapshot replaces the current one
+    void publish(int i) {
+        double score = swarm.pbest_score[i];
+        double[] position = null;
+        while (true) {
+            ParallelPSO.GlobalBest current = global.get();
+            if (score >= current.score)
+                return;
+            if (position == null)
+                position = Arrays.copyOfRange(swarm.pbest, i * swarm.dims, (i + 1) * swarm.dims);
+            if (global.compareAndSet(current, new ParallelPSO.GlobalBest(score, position)))
+                return;
+        }
+    }
+
+    double best_score() {
+        return global.get().score;
+    }
+
+    // MAIN: Rosenbrock behind a simulated 0-4 ms service call, async vs synchronous
+    // (ParallelPSO sync with one worker per in-flight slot), same evaluation budget
+    public static void main(String[] args) {
+        Objective slow = x -> {
+            LockSupport.parkNanos(ThreadLocalRandom.current().nextLong(4_000_000));
+            return GreyWolf.rosenbrock(x);
+        };
+
+        AsyncPSO async = new AsyncPSO(PARTICLES, DIMENSIONS, LOWER, UPPER, W, C1, C2, MAX_IN_FLIGHT, slow, 42);
+        Termination t1 = new Termination(true).max_evaluations(EVALUATIONS);
+        async.run(t1);
+        System.out.printf("async: f(gbest) = %.4f%n%s%n", async.best_score(), t1.report());
+
+        ForkJoinPool pool = new ForkJoinPool(MAX_IN_FLIGHT);
+        ParallelPSO sync = new ParallelPSO(PARTICLES, DIMENSIONS, LOWER, UPPER, W, C1, C2, "sync",
+                PARTICLES / MAX_IN_FLIGHT, slow, pool, 42);
+        Termination t2 = new Termination(true).max_evaluations(EVALUATIONS);
+        sync.run(t2);
+        pool.shutdown();
+        System.out.printf("sync:  f(gbest) = %.4f%n%s%n", sync.best_score(), t2.report());
+    }
+}
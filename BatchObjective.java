@@ -0,0 +1,26 @@
+// Objective over a whole population at once: x holds rows of dims values
+// (row i at [i * dims, (i + 1) * dims)), and evaluate writes f(row i) to
+// out[i] for i in [from, to). Handing a full generation to one call lets the
+// standard functions run as ObjectiveKernels; of() adapts any Objective.
+@FunctionalInterface
+public interface BatchObjective {
+
+    void evaluate(double[] x, int dims, int from, int to, double[] out);
+
+    // dispatch to ObjectiveKernels.active() on every call, so use_vector() applies immediately
+    BatchObjective ROSENBROCK = (x, dims, from, to, out) -> ObjectiveKernels.active().rosenbrock(x, dims, from, to, out);
+    BatchObjective RASTRIGIN = (x, dims, from, to, out) -> ObjectiveKernels.active().rastrigin(x, dims, from, to, out);
+    BatchObjective SPHERE = (x, dims, from, to, out) -> ObjectiveKernels.active().sphere(x, dims, from, to, out);
+    BatchObjective ACKLEY = (x, dims, from, to, out) -> ObjectiveKernels.active().ackley(x, dims, from, to, out);
+
+    // one row at a time through f; allocates one row buffer per call, so it is safe to share
+    static BatchObjective of(Objective f) {
+        return (x, dims, from, to, out) -> {
+            double[] row = new double[dims];
+            for (int i = from; i < to; i++) {
+                System.arraycopy(x, i * dims, row, 0, dims);
+                out[i] = f.evaluate(row);
+            }
+        };
+    }
+}
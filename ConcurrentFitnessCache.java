@@ -0,0 +1,73 @@
+import java.util.concurrent.atomic.LongAdder;
+
+// Thread-safe FitnessCache for ParallelEvaluator and IslandGA: the key space
+// is striped over independently locked LRU segments, and the fitness
+// function itself runs outside any lock. Two threads that miss on the same
+// genome at the same moment may both evaluate it; both store the same value.
+public class ConcurrentFitnessCache implements FitnessFunction<PackedGenome> {
+
+    final FitnessFunction<PackedGenome> delegate;
+    final FitnessCache.Lru[] segments;
+    final int shift; // 32 - log2(segments)
+    final LongAdder hits = new LongAdder();
+    final LongAdder misses = new LongAdder();
+
+    ConcurrentFitnessCache(FitnessFunction<PackedGenome> delegate, int capacity) {
+        this(delegate, capacity, 4 * Runtime.getRuntime().availableProcessors());
+    }
+
+    ConcurrentFitnessCache(FitnessFunction<PackedGenome> delegate, int capacity, int stripes) {
+        this.delegate = delegate;
+        int n = Integer.highestOneBit(Math.max(1, Math.min(stripes, capacity)));
+        segments = new FitnessCache.Lru[n];
+        shift = 32 - Integer.numberOfTrailingZeros(n);
+        for (int i = 0; i < n; i++)
+            segments[i] = new FitnessCache.Lru(Math.max(1, capacity / n));
+    }
+
+    @Override
+    public double evaluate(PackedGenome genome) {
+        FitnessCache.Lru segment = segment(genome.hashCode());
+        Double cached;
+        synchronized (segment) {
+            cached = segment.get(genome);
+        }
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+        double f = delegate.evaluate(genome);
+        PackedGenome key = genome.copy();
+        synchronized (segment) {
+            segment.put(key, f);
+        }
+        return f;
+    }
+
+    // stripe on the top bits of a Fibonacci hash: each Lru buckets on the low bits
+    // (HashMap's h ^ h >>> 16), which would all be equal within a segment if
+    // they also chose it. One segment: shift is 32, which Java reduces to 0,
+    // and the mask keeps the index at 0.
+    FitnessCache.Lru segment(int h) {
+        return segments[(h * 0x9E3779B9) >>> shift & (segments.length - 1)];
+    }
+
+    long hits() {
+        return hits.sum();
+    }
+
+    long misses() {
+        return misses.sum();
+    }
+
+    int size() {
+        int n = 0;
+        for (FitnessCache.Lru segment : segments) {
+            synchronized (segment) {
+                n += segment.size();
+            }
+        }
+        return n;
+    }
+}
@@ -0,0 +1,61 @@
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Memoizes an expensive fitness function per distinct genome, bounded LRU.
+// Not thread-safe: use one per thread, or ConcurrentFitnessCache.
+public class FitnessCache implements FitnessFunction<PackedGenome> {
+
+    final FitnessFunction<PackedGenome> delegate;
+    final Lru entries;
+    long hits, misses;
+
+    FitnessCache(FitnessFunction<PackedGenome> delegate, int capacity) {
+        this.delegate = delegate;
+        this.entries = new Lru(capacity);
+    }
+
+    @Override
+    public double evaluate(PackedGenome genome) {
+        Double cached = entries.get(genome);
+        if (cached != null) {
+            hits++;
+            return cached;
+        }
+        misses++;
+        double f = delegate.evaluate(genome);
+        // the caller keeps mutating its genome in place, so the key is a copy
+        entries.put(genome.copy(), f);
+        return f;
+    }
+
+    long hits() {
+        return hits;
+    }
+
+    long misses() {
+        return misses;
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    // access-ordered map that drops the least recently used entry past capacity
+    static class Lru extends LinkedHashMap<PackedGenome, Double> {
+        private static final long serialVersionUID = 1L;
+
+        final int capacity;
+
+        Lru(int capacity) {
+            super(16, 0.75f, true);
+            if (capacity < 1)
+                throw new IllegalArgumentException("capacity must be >= 1");
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<PackedGenome, Double> eldest) {
+            return size() > capacity;
+        }
+    }
+}
@@ -0,0 +1,7 @@
+// Objective for a GA chromosome of type G (higher is better).
+// Implementations must be safe to call from several threads at once.
+@FunctionalInterface
+public interface FitnessFunction<G> {
+
+    double evaluate(G genome);
+}
@@ -0,0 +1,234 @@
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+// Swarm with single-precision coordinates: the same layout, social
+// references and loops at half the memory traffic and twice the lanes per
+// vector. Scores stay in double; each particle is widened into a double[]
+// row for the Objective, and a double gbest handed to tile() is narrowed
+// once into a fresh float copy.
+public class FloatSwarm implements SwarmStorage {
+
+    final int n, dims;
+    final float[] x, v, pbest;
+    final double[] pbest_score;
+    final float[] gbest;
+    final float[][] social; // particle i follows social[i][social_at[i], social_at[i] + dims)
+    final int[] social_at;
+    final double[] row;
+    final double[] score; // latest scores, for BatchObjective
+    double[] wide = new double[0]; // the range being batch-evaluated, widened to double
+    double gbest_score = Double.POSITIVE_INFINITY;
+    double[] narrowed_from; // last gbest tile() narrowed, and its float copy
+    float[] narrowed;
+
+    FloatSwarm(int n, int dims) {
+        this.n = n;
+        this.dims = dims;
+        x = new float[n * dims];
+        v = new float[n * dims];
+        pbest = new float[n * dims];
+        pbest_score = new double[n];
+        gbest = new float[dims];
+        social = new float[n][];
+        social_at = new int[n];
+        row = new double[dims];
+        score = new double[n];
+    }
+
+    @Override
+    public int n() {
+        return n;
+    }
+
+    @Override
+    public int dims() {
+        return dims;
+    }
+
+    @Override
+    public double[] pbest_score() {
+        return pbest_score;
+    }
+
+    @Override
+    public double gbest_score() {
+        return gbest_score;
+    }
+
+    @Override
+    public void initialize(double lower, double upper, double v_max, RandomGenerator rng) {
+        float lo = (float) lower, span = (float) (upper - lower), vm = (float) v_max;
+        RngService.fill(rng, x, 0, x.length);
+        RngService.fill(rng, v, 0, v.length);
+        for (int k = 0; k < x.length; k++) {
+            x[k] = lo + span * x[k];
+            v[k] = -vm + 2 * vm * v[k];
+        }
+        System.arraycopy(x, 0, pbest, 0, x.length);
+        Arrays.fill(pbest_score, Double.POSITIVE_INFINITY);
+        gbest_score = Double.POSITIVE_INFINITY;
+        follow_own(0, n);
+    }
+
+    // ---------- BESTS ----------
+    int evaluate(Objective f, int from, int to) {
+        return evaluate(f, from, to, row);
+    }
+
+    @Override
+    public int evaluate(Objective f, int from, int to, double[] row) {
+        int best = -1;
+        for (int i = from; i < to; i++) {
+            for (int j = 0; j < dims; j++)
+                row[j] = x[i * dims + j];
+            update_best(i, f.evaluate(row));
+            if (best < 0 || pbest_score[i] < pbest_score[best])
+                best = i;
+        }
+        return best;
+    }
+
+    // the range widened into one double buffer, then one kernel call; same result as the
+    // Objective version. The buffer grows to the largest range evaluated this way
+    int evaluate(BatchObjective f, int from, int to) {
+        int len = (to - from) * dims;
+        if (wide.length < len)
+            wide = new double[len];
+        for (int k = 0; k < len; k++)
+            wide[k] = x[from * dims + k];
+        f.evaluate(wide, dims, 0, to - from, score);
+        int best = -1;
+        for (int i = from; i < to; i++) {
+            update_best(i, score[i - from]);
+            if (best < 0 || pbest_score[i] < pbest_score[best])
+                best = i;
+        }
+        return best;
+    }
+
+    boolean update_best(int i, double score) {
+        if (score >= pbest_score[i])
+            return false;
+        pbest_score[i] = score;
+        System.arraycopy(x, i * dims, pbest, i * dims, dims);
+        return true;
+    }
+
+    boolean offer_global(int i) {
+        return offer_global(i, true);
+    }
+
+    @Override
+    public boolean offer_global(int i, boolean tile) {
+        if (pbest_score[i] >= gbest_score)
+            return false;
+        gbest_score = pbest_score[i];
+        System.arraycopy(pbest, i * dims, gbest, 0, dims);
+        if (tile) {
+            for (int p = 0; p < n; p++) {
+                social[p] = gbest;
+                social_at[p] = 0;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public double[] gbest_copy() {
+        double[] g = new double[dims];
+        for (int j = 0; j < dims; j++)
+            g[j] = gbest[j];
+        return g;
+    }
+
+    @Override
+    public double[] pbest_copy(int i) {
+        double[] p = new double[dims];
+        for (int j = 0; j < dims; j++)
+            p[j] = pbest[i * dims + j];
+        return p;
+    }
+
+    @Override
+    public void tile(double[] g, int from, int to) {
+        float[] f = narrow(g);
+        for (int i = from; i < to; i++) {
+            social[i] = f;
+            social_at[i] = 0;
+        }
+    }
+
+    // one float copy per distinct g, shared by every chunk; a new array each time, so
+    // particles still following the previous gbest never see it overwritten
+    synchronized float[] narrow(double[] g) {
+        if (g != narrowed_from) {
+            float[] f = new float[dims];
+            for (int j = 0; j < dims; j++)
+                f[j] = (float) g[j];
+            narrowed = f;
+            narrowed_from = g;
+        }
+        return narrowed;
+    }
+
+    @Override
+    public void attract_to(int[] lbest, int from, int to) {
+        for (int i = from; i < to; i++) {
+            social[i] = pbest;
+            social_at[i] = lbest[i] * dims;
+        }
+    }
+
+    @Override
+    public void follow_own(int from, int to) {
+        for (int i = from; i < to; i++) {
+            social[i] = pbest;
+            social_at[i] = i * dims;
+        }
+    }
+
+    // ---------- MOVE ----------
+    // coefficients and bounds are narrowed once so the kernel stays in float
+    @Override
+    public void move(int from, int to, double w, double c1, double c2, double lower, double upper, RandomGenerator rng) {
+        float fw = (float) w, fc1 = (float) c1, fc2 = (float) c2, lo_x = (float) lower, hi_x = (float) upper;
+        int len = (to - from) * dims;
+        Scratch scratch = Scratch.get();
+        float[] r1 = scratch.r1(len), r2 = scratch.r2(len);
+        RngService.fill(rng, r1, 0, len);
+        RngService.fill(rng, r2, 0, len);
+        SwarmKernels kernels = SwarmKernels.active();
+        for (int i = from; i < to; i++) {
+            kernels.move(x, v, pbest, i * dims, social[i], social_at[i], r1, r2, (i - from) * dims, dims, fw, fc1,
+                    fc2, lo_x, hi_x);
+        }
+    }
+
+    @Override
+    public double diversity() {
+        return Termination.diversity(x, n, dims);
+    }
+
+    // per-thread r1/r2 for move(), as in Swarm
+    static class Scratch {
+        static final ThreadLocal<Scratch> LOCAL = ThreadLocal.withInitial(Scratch::new);
+
+        float[] r1 = new float[0], r2 = new float[0];
+
+        static Scratch get() {
+            return LOCAL.get();
+        }
+
+        float[] r1(int n) {
+            if (r1.length < n)
+                r1 = new float[n];
+            return r1;
+        }
+
+        float[] r2(int n) {
+            if (r2.length < n)
+                r2 = new float[n];
+            return r2;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.random.RandomGenerator;
 
 public class GA {
 
@@ -13,8 +14,28 @@ public class GA {
     static final String crossover_type = "two_point"; // options: single_point, two_point, uniform
     static final String mutation_type = "bit_flip"; // options: bit_flip, swap
     static final double MUTATION_RATE = 0.1;
+    static final int EVAL_CHUNK_SIZE = 64; // individuals per parallel fitness task
+    static final int STAGNATION_WINDOW = 5; // generations without a better best before giving up
 
-    static Random random = new Random();
+    // The static operators may run on any thread (fitness_function already
+    // runs on pool threads), so each thread gets its own generator and
+    // Selection. The first thread to draw, the main loop in main(), gets the
+    // "GA" stream; later threads get "GA#1", "GA#2", ... in first-use order.
+    static final AtomicInteger STREAMS = new AtomicInteger();
+    static final ThreadLocal<RandomGenerator> RANDOM = ThreadLocal.withInitial(() -> {
+        int k = STREAMS.getAndIncrement();
+        return RngService.global().stream(k == 0 ? "GA" : "GA#" + k);
+    });
+    static final ThreadLocal<Selection> SELECTION = ThreadLocal.withInitial(Selection::new);
+    static final ParallelEvaluator EVALUATOR = new ParallelEvaluator(EVAL_CHUNK_SIZE);
+
+    static RandomGenerator random() {
+        return RANDOM.get();
+    }
+
+    static Selection selection() {
+        return SELECTION.get();
+    }
 
     // HELPER FUNCTIONS
     static List<String> create_population(int size, int length) {
@@ -22,13 +43,20 @@ public class GA {
         for (int i = 0; i < size; i++) {
             StringBuilder chrom = new StringBuilder();
             for (int j = 0; j < length; j++) {
-                chrom.append(random.nextBoolean() ? '1' : '0');
+                chrom.append(random().nextBoolean() ? '1' : '0');
             }
             population.add(chrom.toString());
         }
         return population;
     }
 
+    static List<PackedGenome> create_packed_population(int size, int length) {
+        List<PackedGenome> population = new ArrayList<>();
+        for (int i = 0; i < size; i++)
+            population.add(PackedGenome.random_genome(length, random()));
+        return population;
+    }
+
     static int fitness_function(String chromosome) {
         // Example: maximize number of 1's
         int count = 0;
@@ -39,69 +67,66 @@ public class GA {
         return count;
     }
 
+    static int fitness_function(PackedGenome chromosome) {
+        return chromosome.count_ones();
+    }
+
     // SELECTION METHODS
-    static List<String> canonical_selection(List<String> pop, List<Integer> fit, int k) {
-        double avg_fit = fit.stream().mapToDouble(f -> f).average().orElse(1.0);
-        List<Double> probs = new ArrayList<>();
-        for (int f : fit)
-            probs.add(f / avg_fit);
-        double sum = probs.stream().mapToDouble(Double::doubleValue).sum();
-        probs = probs.stream().map(p -> p / sum).collect(Collectors.toList());
-        return weighted_choice(pop, probs, k);
-    }
-
-    static List<String> roulette_wheel_selection(List<String> pop, List<Integer> fit, int k) {
-        double sum = fit.stream().mapToDouble(f -> f).sum();
-        List<Double> probs = fit.stream().map(f -> f / sum).collect(Collectors.toList());
-        return weighted_choice(pop, probs, k);
-    }
-
-    static List<String> rank_based_selection(List<String> pop, List<Integer> fit, int k) {
-        List<Integer> sortedIdx = new ArrayList<>();
-        for (int i = 0; i < fit.size(); i++)
-            sortedIdx.add(i);
-        sortedIdx.sort(Comparator.comparingInt(fit::get));
-
-        int n = fit.size();
-        List<Integer> ranks = new ArrayList<>();
-        for (int i = 1; i <= n; i++)
-            ranks.add(i);
-
-        double sum = ranks.stream().mapToDouble(r -> r).sum();
-        List<Double> rank_probs = ranks.stream().map(r -> r / sum).collect(Collectors.toList());
-
-        List<String> ranked_pop = sortedIdx.stream().map(pop::get).collect(Collectors.toList());
-        return weighted_choice(ranked_pop, rank_probs, k);
-    }
-
-    static List<String> tournament_selection(List<String> pop, List<Integer> fit, int k, int t_size) {
-        List<String> selected = new ArrayList<>();
-        for (int i = 0; i < k; i++) {
-            List<Integer> indices = random.ints(0, pop.size()).distinct().limit(t_size).boxed()
-                    .collect(Collectors.toList());
-            int bestIndex = indices.get(0);
-            for (int idx : indices) {
-                if (fit.get(idx) > fit.get(bestIndex))
-                    bestIndex = idx;
-            }
-            selected.add(pop.get(bestIndex));
-        }
-        return selected;
+    // The List<Integer> forms are kept for callers; all of them run on the
+    // primitive double[] kernels in Selection.
+    static <T> List<T> canonical_selection(List<T> pop, List<Integer> fit, int k) {
+        return canonical_selection(pop, to_array(fit), k);
     }
 
-    static List<String> steady_state_selection(List<String> pop, List<Integer> fit, int k) {
-        List<Map.Entry<String, Integer>> pairs = new ArrayList<>();
-        for (int i = 0; i < pop.size(); i++) {
-            pairs.add(new AbstractMap.SimpleEntry<>(pop.get(i), fit.get(i)));
-        }
+    static <T> List<T> canonical_selection(List<T> pop, double[] fit, int k) {
+        int[] idx = new int[k];
+        selection().canonical_selection(fit, pop.size(), k, random(), idx);
+        return pick(pop, idx, k);
+    }
+
+    static <T> List<T> roulette_wheel_selection(List<T> pop, List<Integer> fit, int k) {
+        return roulette_wheel_selection(pop, to_array(fit), k);
+    }
+
+    static <T> List<T> roulette_wheel_selection(List<T> pop, double[] fit, int k) {
+        int[] idx = new int[k];
+        selection().roulette_wheel_selection(fit, pop.size(), k, random(), idx);
+        return pick(pop, idx, k);
+    }
+
+    static <T> List<T> rank_based_selection(List<T> pop, List<Integer> fit, int k) {
+        return rank_based_selection(pop, to_array(fit), k);
+    }
 
-        pairs.sort((a, b) -> b.getValue() - a.getValue());
-        return pairs.stream().limit(k).map(Map.Entry::getKey).collect(Collectors.toList());
+    static <T> List<T> rank_based_selection(List<T> pop, double[] fit, int k) {
+        int[] idx = new int[k];
+        selection().rank_based_selection(fit, pop.size(), k, random(), idx);
+        return pick(pop, idx, k);
+    }
+
+    static <T> List<T> tournament_selection(List<T> pop, List<Integer> fit, int k, int t_size) {
+        return tournament_selection(pop, to_array(fit), k, t_size);
+    }
+
+    static <T> List<T> tournament_selection(List<T> pop, double[] fit, int k, int t_size) {
+        int[] idx = new int[k];
+        selection().tournament_selection(fit, pop.size(), k, t_size, random(), idx);
+        return pick(pop, idx, k);
+    }
+
+    static <T> List<T> steady_state_selection(List<T> pop, List<Integer> fit, int k) {
+        return steady_state_selection(pop, to_array(fit), k);
+    }
+
+    static <T> List<T> steady_state_selection(List<T> pop, double[] fit, int k) {
+        int[] idx = new int[k];
+        selection().steady_state_selection(fit, pop.size(), k, idx);
+        return pick(pop, idx, k);
     }
 
     // CROSSOVER METHODS
     static String[] single_point_crossover(String p1, String p2) {
-        int pt = random.nextInt(p1.length() - 1) + 1;
+        int pt = random().nextInt(p1.length() - 1) + 1;
         return new String[] {
                 p1.substring(0, pt) + p2.substring(pt),
                 p2.substring(0, pt) + p1.substring(pt)
@@ -109,8 +134,8 @@ public class GA {
     }
 
     static String[] two_point_crossover(String p1, String p2) {
-        int pt1 = random.nextInt(p1.length() - 2) + 1;
-        int pt2 = random.nextInt(p1.length() - 1 - pt1) + pt1 + 1;
+        int pt1 = random().nextInt(p1.length() - 2) + 1;
+        int pt2 = random().nextInt(p1.length() - 1 - pt1) + pt1 + 1;
         return new String[] {
                 p1.substring(0, pt1) + p2.substring(pt1, pt2) + p1.substring(pt2),
                 p2.substring(0, pt1) + p1.substring(pt1, pt2) + p2.substring(pt2)
@@ -121,7 +146,7 @@ public class GA {
         StringBuilder c1 = new StringBuilder();
         StringBuilder c2 = new StringBuilder();
         for (int i = 0; i < p1.length(); i++) {
-            if (random.nextDouble() < 0.5) {
+            if (random().nextDouble() < 0.5) {
                 c1.append(p1.charAt(i));
                 c2.append(p2.charAt(i));
             } else {
@@ -136,7 +161,7 @@ public class GA {
     static String bit_flip_mutation(String chrom, double rate) {
         StringBuilder mutated = new StringBuilder();
         for (char g : chrom.toCharArray()) {
-            if (random.nextDouble() < rate)
+            if (random().nextDouble() < rate)
                 mutated.append(g == '1' ? '0' : '1');
             else
                 mutated.append(g);
@@ -146,8 +171,8 @@ public class GA {
 
     static String swap_mutation(String chrom) {
         char[] ch = chrom.toCharArray();
-        int i = random.nextInt(ch.length);
-        int j = random.nextInt(ch.length);
+        int i = random().nextInt(ch.length);
+        int j = random().nextInt(ch.length);
         char temp = ch[i];
         ch[i] = ch[j];
         ch[j] = temp;
@@ -155,7 +180,11 @@ public class GA {
     }
 
     // SELECTION, CROSSOVER, MUTATION WRAPPERS
-    static List<String> select_method(List<String> pop, List<Integer> fit, String method) {
+    static <T> List<T> select_method(List<T> pop, List<Integer> fit, String method) {
+        return select_method(pop, to_array(fit), method);
+    }
+
+    static <T> List<T> select_method(List<T> pop, double[] fit, String method) {
         switch (method) {
             case "canonical":
                 return canonical_selection(pop, fit, MATING_POOL_SIZE);
@@ -185,6 +214,13 @@ public class GA {
         }
     }
 
+    static PackedGenome[] crossover_method(PackedGenome p1, PackedGenome p2, String method) {
+        PackedGenome c1 = new PackedGenome(p1.length);
+        PackedGenome c2 = new PackedGenome(p1.length);
+        PackedGenome.crossover(method, p1, p2, c1, c2, random());
+        return new PackedGenome[] { c1, c2 };
+    }
+
     static String mutation_method(String chrom, String method) {
         switch (method) {
             case "bit_flip":
@@ -196,34 +232,45 @@ public class GA {
         }
     }
 
-    // Weighted Random Choice Utility
-    static List<String> weighted_choice(List<String> items, List<Double> weights, int k) {
-        List<String> chosen = new ArrayList<>();
-        double total = weights.stream().mapToDouble(Double::doubleValue).sum();
-        for (int i = 0; i < k; i++) {
-            double r = random.nextDouble() * total;
-            double cum = 0;
-            for (int j = 0; j < items.size(); j++) {
-                cum += weights.get(j);
-                if (r <= cum) {
-                    chosen.add(items.get(j));
-                    break;
-                }
-            }
-        }
+    // packed genomes are mutated in place; the same instance is returned
+    static PackedGenome mutation_method(PackedGenome chrom, String method) {
+        chrom.mutate(method, MUTATION_RATE, random());
+        return chrom;
+    }
+
+    static double[] to_array(List<Integer> fit) {
+        double[] f = new double[fit.size()];
+        for (int i = 0; i < f.length; i++)
+            f[i] = fit.get(i);
+        return f;
+    }
+
+    static <T> List<T> pick(List<T> pop, int[] idx, int k) {
+        List<T> chosen = new ArrayList<>(k);
+        for (int i = 0; i < k; i++)
+            chosen.add(pop.get(idx[i]));
         return chosen;
     }
 
     // MAIN
     public static void main(String[] args) {
+        RngService.print_global_seed();
         List<String> population = create_population(POP_SIZE, CHROM_LENGTH);
+        Termination termination = new Termination(false).max_iterations(GENERATIONS).target(CHROM_LENGTH)
+                .stagnation(STAGNATION_WINDOW, 0).start();
+        long evaluations = 0;
 
-        for (int gen = 0; gen < GENERATIONS; gen++) {
-            List<Integer> fitness = population.stream().map(GA::fitness_function).collect(Collectors.toList());
-            int best = Collections.max(fitness);
-            double avg = fitness.stream().mapToInt(f -> f).average().orElse(0.0);
+        for (int gen = 0;; gen++) {
+            double[] fitness = new double[population.size()];
+            EVALUATOR.evaluate(population, GA::fitness_function, fitness);
+            evaluations += population.size();
+            double best = Arrays.stream(fitness).max().orElse(0.0);
+            double avg = Arrays.stream(fitness).average().orElse(0.0);
 
-            System.out.printf("Gen %d: Best = %d, Avg = %.2f%n", gen, best, avg);
+            System.out.printf("Gen %d: Best = %.0f, Avg = %.2f%n", gen, best, avg);
+            double diversity = termination.needs_diversity() ? Termination.diversity(population) : Double.NaN;
+            if (termination.should_stop(best, diversity, evaluations))
+                break;
 
             // Selection
             List<String> parents = select_method(population, fitness, selection_type);
@@ -239,5 +286,6 @@ public class GA {
             // Keep population size constant
             population = next_gen.subList(0, Math.min(POP_SIZE, next_gen.size()));
         }
+        System.out.println(termination.report());
     }
 }
\ No newline at end of file
@@ -0,0 +1,258 @@
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.random.RandomGenerator;
+
+// Periodic binary snapshots of a GenerationalGA: generation counter, packed
+// population, fitness array, serialized RNG state and, for adaptive
+// configs, the serialized OperatorSelectors.
+//
+// The loop thread only copies state into one of two snapshot buffers; a
+// background thread writes it through a memory-mapped file. If the buffer
+// is still being written when the next checkpoint is due, that checkpoint
+// is skipped rather than stalling the loop. Snapshots alternate between
+// <base>.0 and <base>.1 and end with a commit marker, so a crash mid-write
+// leaves the previous snapshot usable. resume() continues bit-for-bit.
+public class GACheckpoint implements AutoCloseable {
+
+    static final int MAGIC = 0x47414350; // "GACP"
+    static final int VERSION = 2;
+    static final int HEADER_BYTES = 8 * Integer.BYTES;
+
+    final Path[] files;
+    final int interval;
+    final ExecutorService writer;
+    final Snapshot[] buffers = { new Snapshot(), new Snapshot() };
+    int next_slot;
+    long written, skipped;
+
+    GACheckpoint(Path base, int interval) {
+        this.files = slots(base);
+        this.interval = interval;
+        this.writer = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "ga-checkpoint");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    void maybe_save(GenerationalGA ga) {
+        if (ga.generation % interval == 0)
+            save(ga);
+    }
+
+    // returns false when the free buffer was still being written
+    boolean save(GenerationalGA ga) {
+        Snapshot s = buffers[next_slot];
+        if (s.pending != null) {
+            if (!s.pending.isDone()) {
+                skipped++;
+                return false;
+            }
+            ParallelEvaluator.await(s.pending); // surfaces an earlier write failure
+        }
+        s.capture(ga);
+        Path file = files[next_slot];
+        s.pending = writer.submit(() -> {
+            write(s, file);
+            written++;
+            return null;
+        });
+        next_slot ^= 1;
+        return true;
+    }
+
+    // waits for outstanding writes
+    @Override
+    public void close() {
+        for (Snapshot s : buffers) {
+            if (s.pending != null)
+                ParallelEvaluator.await(s.pending);
+        }
+        writer.shutdown();
+    }
+
+    // ---------- RESUME ----------
+    // newest complete snapshot under base, or null if there is none
+    static GenerationalGA resume(Path base, GAConfig config, FitnessFunction<PackedGenome> fitness,
+            ParallelEvaluator evaluator) throws IOException {
+        Snapshot latest = null;
+        for (Path file : slots(base)) {
+            Snapshot s = read(file);
+            if (s != null && (latest == null || s.generation > latest.generation))
+                latest = s;
+        }
+        if (latest == null)
+            return null;
+        if (latest.pop_size != config.pop_size || latest.chrom_length != config.chrom_length
+                || (latest.selectors.length > 0) != config.adaptive())
+            throw new IllegalArgumentException("Snapshot does not match config: " + config);
+
+        GenerationalGA ga = new GenerationalGA(config, fitness, evaluator, (RandomGenerator) deserialize(latest.rng));
+        if (config.adaptive()) {
+            OperatorSelector[] ops = (OperatorSelector[]) deserialize(latest.selectors);
+            for (OperatorSelector op : ops) {
+                if (op != null && !op.policy.equals(config.adaptive_policy))
+                    throw new IllegalArgumentException("Snapshot used policy " + op.policy + ", config: " + config);
+            }
+            ga.crossover_ops = ops[0];
+            ga.mutation_ops = ops[1];
+        }
+        int words = latest.words;
+        for (int i = 0; i < latest.pop_size; i++)
+            System.arraycopy(latest.genomes, i * words, ga.pop[i].words, 0, words);
+        System.arraycopy(latest.fit, 0, ga.fit, 0, latest.pop_size);
+        ga.generation = latest.generation;
+        return ga;
+    }
+
+    // ---------- FILE FORMAT ----------
+    // header ints: magic, version, generation, pop_size, chrom_length, words, rng bytes, selector bytes
+    // then rng bytes, selector bytes (0 unless adaptive), genome words, fitness values, and the
+    // generation again as commit marker
+    static void write(Snapshot s, Path file) throws IOException {
+        long size = HEADER_BYTES + s.rng.length + s.selectors.length + 8L * s.pop_size * s.words + 8L * s.pop_size
+                + Long.BYTES;
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buf.putInt(MAGIC).putInt(VERSION).putInt(s.generation).putInt(s.pop_size).putInt(s.chrom_length)
+                    .putInt(s.words).putInt(s.rng.length).putInt(s.selectors.length);
+            buf.put(s.rng);
+            buf.put(s.selectors);
+            buf.asLongBuffer().put(s.genomes, 0, s.pop_size * s.words);
+            buf.position(buf.position() + 8 * s.pop_size * s.words);
+            buf.asDoubleBuffer().put(s.fit, 0, s.pop_size);
+            buf.position(buf.position() + 8 * s.pop_size);
+            buf.force();
+            buf.putLong(s.generation);
+            buf.force();
+        }
+    }
+
+    static Snapshot read(Path file) throws IOException {
+        if (!Files.exists(file) || Files.size(file) < HEADER_BYTES)
+            return null;
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+            if (buf.getInt() != MAGIC || buf.getInt() != VERSION)
+                return null;
+            Snapshot s = new Snapshot();
+            s.generation = buf.getInt();
+            s.pop_size = buf.getInt();
+            s.chrom_length = buf.getInt();
+            s.words = buf.getInt();
+            int rng_len = buf.getInt(), selectors_len = buf.getInt();
+            long size = HEADER_BYTES + rng_len + selectors_len + 8L * s.pop_size * s.words + 8L * s.pop_size
+                    + Long.BYTES;
+            if (ch.size() < size || buf.getLong((int) size - Long.BYTES) != s.generation)
+                return null; // torn write: the commit marker is missing
+            s.rng = new byte[rng_len];
+            buf.get(s.rng);
+            s.selectors = new byte[selectors_len];
+            buf.get(s.selectors);
+            s.genomes = new long[s.pop_size * s.words];
+            buf.asLongBuffer().get(s.genomes);
+            buf.position(buf.position() + 8 * s.genomes.length);
+            s.fit = new double[s.pop_size];
+            buf.asDoubleBuffer().get(s.fit);
+            return s;
+        }
+    }
+
+    // ---------- HELPERS ----------
+    static Path[] slots(Path base) {
+        return new Path[] { base.resolveSibling(base.getFileName() + ".0"),
+                base.resolveSibling(base.getFileName() + ".1") };
+    }
+
+    // the RNG or the OperatorSelectors
+    static byte[] serialize(Object state) {
+        if (!(state instanceof Serializable))
+            throw new IllegalStateException("Checkpointing needs Serializable state, got " + state.getClass());
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(state);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not capture " + state.getClass().getSimpleName() + " state", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static Object deserialize(byte[] state) throws IOException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(state))) {
+            return in.readObject();
+        } catch (ClassNotFoundException e) {
+            throw new IOException("Unknown class in snapshot", e);
+        }
+    }
+
+    // copy-on-write buffer: filled on the loop thread, read by the writer
+    static class Snapshot {
+        int generation, pop_size, chrom_length, words;
+        long[] genomes = new long[0];
+        double[] fit = new double[0];
+        byte[] rng, selectors = new byte[0];
+        Future<?> pending;
+
+        void capture(GenerationalGA ga) {
+            generation = ga.generation;
+            pop_size = ga.config.pop_size;
+            chrom_length = ga.config.chrom_length;
+            words = ga.pop[0].words.length;
+            if (genomes.length < pop_size * words)
+                genomes = new long[pop_size * words];
+            if (fit.length < pop_size)
+                fit = new double[pop_size];
+            for (int i = 0; i < pop_size; i++)
+                System.arraycopy(ga.pop[i].words, 0, genomes, i * words, words);
+            System.arraycopy(ga.fit, 0, fit, 0, pop_size);
+            rng = serialize(ga.rng);
+            if (ga.config.adaptive())
+                selectors = serialize(new OperatorSelector[] { ga.crossover_ops, ga.mutation_ops });
+        }
+    }
+
+    // MAIN: run, "crash" halfway, resume, and compare with an uninterrupted run,
+    // for fixed operators and for adaptive ones (whose selectors are in the snapshot)
+    public static void main(String[] args) throws Exception {
+        GAConfig[] configs = { new GAConfig(200, 512, "tournament", "uniform", "bit_flip", 1.0 / 512, 2),
+                new GAConfig(200, 512, "tournament", "adaptive", "adaptive", 1.0 / 512, 2, "matching") };
+        for (GAConfig config : configs) {
+            Path base = Files.createTempDirectory("ga-checkpoint").resolve("run.ckpt");
+
+            GenerationalGA full = new GenerationalGA(config, GA::fitness_function, null, new RngService(42).stream(0));
+            full.initialize();
+            full.run(300);
+
+            GenerationalGA first = new GenerationalGA(config, GA::fitness_function, null, new RngService(42).stream(0));
+            GACheckpoint checkpoint = new GACheckpoint(base, 50);
+            first.checkpoint = checkpoint;
+            first.initialize();
+            first.run(170); // killed here
+            checkpoint.close();
+            System.out.printf("%s%nSnapshots written = %d, skipped = %d%n", config, checkpoint.written,
+                    checkpoint.skipped);
+
+            GenerationalGA resumed = resume(base, config, GA::fitness_function, null);
+            System.out.println("Resumed at generation " + resumed.generation);
+            resumed.run(300 - resumed.generation);
+
+            boolean same = true;
+            for (int i = 0; i < config.pop_size; i++)
+                same &= resumed.pop[i].equals(full.pop[i]) && resumed.fit[i] == full.fit[i];
+            System.out.printf("Best = %.0f, identical to uninterrupted run: %b%n", resumed.best_fitness(), same);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+// Immutable settings for one GenerationalGA run. Operator names are the
+// same options GA.select_method / crossover_method / mutation_method accept,
+// plus "adaptive", whose OperatorSelector policy is adaptive_policy.
+public class GAConfig {
+
+    final int pop_size;
+    final int chrom_length;
+    final String selection_type;
+    final String crossover_type;
+    final String mutation_type;
+    final double mutation_rate;
+    final int elites;
+    final String adaptive_policy; // "matching" or "pursuit"; only used by "adaptive" operators
+
+    GAConfig(int pop_size, int chrom_length, String selection_type, String crossover_type, String mutation_type,
+            double mutation_rate, int elites) {
+        this(pop_size, chrom_length, selection_type, crossover_type, mutation_type, mutation_rate, elites, "pursuit");
+    }
+
+    GAConfig(int pop_size, int chrom_length, String selection_type, String crossover_type, String mutation_type,
+            double mutation_rate, int elites, String adaptive_policy) {
+        if (pop_size < 2)
+            throw new IllegalArgumentException("pop_size must be >= 2");
+        if (elites < 0 || elites >= pop_size)
+            throw new IllegalArgumentException("elites must be in [0, pop_size)");
+        if (!adaptive_policy.equals("matching") && !adaptive_policy.equals("pursuit"))
+            throw new IllegalArgumentException("Unknown policy: " + adaptive_policy);
+        this.pop_size = pop_size;
+        this.chrom_length = chrom_length;
+        this.selection_type = selection_type;
+        this.crossover_type = crossover_type;
+        this.mutation_type = mutation_type;
+        this.mutation_rate = mutation_rate;
+        this.elites = elites;
+        this.adaptive_policy = adaptive_policy;
+    }
+
+    boolean adaptive() {
+        return crossover_type.equals("adaptive") || mutation_type.equals("adaptive");
+    }
+
+    @Override
+    public String toString() {
+        return String.format("pop=%d len=%d %s/%s/%s rate=%s elites=%d", pop_size, chrom_length, selection_type,
+                crossover_type, mutation_type, mutation_rate, elites) + (adaptive() ? " policy=" + adaptive_policy : "");
+    }
+}
@@ -0,0 +1,217 @@
+import java.util.random.RandomGenerator;
+
+// Double-buffered generational GA over packed genomes. Both population
+// buffers, the fitness array and every index buffer are allocated up front;
+// each generation writes offspring straight into the back buffer and then
+// swaps, so the population size stays constant and a steady-state
+// generation allocates nothing (with the sequential evaluator).
+//
+// crossover_type / mutation_type "adaptive" pick an operator per pair of
+// children with an OperatorSelector (policy GAConfig.adaptive_policy),
+// rewarded by how much each child beats its better parent. GACheckpoint
+// saves the selectors with the population.
+public class GenerationalGA {
+
+    static final String[] ADAPTIVE_CROSSOVERS = { "single_point", "two_point", "multi_point", "uniform" };
+    static final String[] ADAPTIVE_MUTATIONS = { "bit_flip", "swap" };
+
+    // CONFIGURATION (demo; operators come from GA)
+    static final int POP_SIZE = 100;
+    static final int CHROM_LENGTH = 64;
+    static final int GENERATIONS = 50;
+    static final int ELITES = 2;
+
+    final GAConfig config;
+    final FitnessFunction<PackedGenome> fitness;
+    final ParallelEvaluator evaluator; // null evaluates on the calling thread
+    final RandomGenerator rng;
+    final Selection selection = new Selection();
+
+    PackedGenome[] pop, next;
+    final PackedGenome scratch;
+    final double[] fit, elite_fit;
+    final int[] parents, elite_idx;
+    final int[] extra_parent = new int[1];
+    int generation;
+    GACheckpoint checkpoint; // optional, consulted after every generation
+
+    // adaptive operators (null when the config names a fixed one)
+    OperatorSelector crossover_ops, mutation_ops;
+    final int[] child_crossover, child_mutation;
+    final double[] parent_fit;
+
+    GenerationalGA(GAConfig config, FitnessFunction<PackedGenome> fitness, ParallelEvaluator evaluator,
+            RandomGenerator rng) {
+        this.config = config;
+        this.fitness = fitness;
+        this.evaluator = evaluator;
+        this.rng = rng;
+        int n = config.pop_size;
+        pop = new PackedGenome[n];
+        next = new PackedGenome[n];
+        for (int i = 0; i < n; i++) {
+            pop[i] = new PackedGenome(config.chrom_length);
+            next[i] = new PackedGenome(config.chrom_length);
+        }
+        scratch = new PackedGenome(config.chrom_length);
+        fit = new double[n];
+        parents = new int[n + 1];
+        elite_idx = new int[n];
+        elite_fit = new double[n];
+        if (config.crossover_type.equals("adaptive"))
+            crossover_ops = new OperatorSelector(ADAPTIVE_CROSSOVERS, config.adaptive_policy);
+        if (config.mutation_type.equals("adaptive"))
+            mutation_ops = new OperatorSelector(ADAPTIVE_MUTATIONS, config.adaptive_policy);
+        child_crossover = new int[n];
+        child_mutation = new int[n];
+        parent_fit = new double[n];
+    }
+
+    void initialize() {
+        for (PackedGenome g : pop) {
+            for (int w = 0; w < g.words.length; w++)
+                g.words[w] = rng.nextLong();
+            g.clear_tail();
+        }
+        generation = 0;
+        evaluate();
+    }
+
+    void run(int generations) {
+        for (int g = 0; g < generations; g++)
+            step();
+    }
+
+    // steps until the policy fires; evaluations counted from this call
+    Termination.StopReason run(Termination termination) {
+        termination.start();
+        long evaluations = 0;
+        while (true) {
+            step();
+            evaluations += config.pop_size - config.elites;
+            double diversity = termination.needs_diversity() ? Termination.diversity(pop, config.pop_size) : Double.NaN;
+            if (termination.should_stop(best_fitness(), diversity, evaluations))
+                return termination.reason;
+        }
+    }
+
+    // one generation: elites copied with their fitness, the rest bred into the back
+    // buffer, swap, evaluate only the children
+    void step() {
+        int n = config.pop_size, e = config.elites;
+        if (e > 0) {
+            selection.steady_state_selection(fit, n, e, elite_idx);
+            for (int i = 0; i < e; i++) {
+                next[i].copy_from(pop[elite_idx[i]]);
+                elite_fit[i] = fit[elite_idx[i]]; // fit still ranks pop until the swap
+            }
+        }
+
+        int children = n - e;
+        selection.select(config.selection_type, fit, n, children, rng, parents);
+        if ((children & 1) != 0) { // parents come in pairs: the last one gets a partner drawn on its own
+            selection.select(config.selection_type, fit, n, 1, rng, extra_parent);
+            parents[children] = extra_parent[0];
+        }
+        for (int c = 0; c < children; c += 2) {
+            PackedGenome c1 = next[e + c];
+            PackedGenome c2 = c + 1 < children ? next[e + c + 1] : scratch; // odd count: second child dropped
+            int x = crossover_ops != null ? crossover_ops.select(rng) : -1;
+            int m = mutation_ops != null ? mutation_ops.select(rng) : -1;
+            String crossover = x >= 0 ? ADAPTIVE_CROSSOVERS[x] : config.crossover_type;
+            String mutation = m >= 0 ? ADAPTIVE_MUTATIONS[m] : config.mutation_type;
+            PackedGenome.crossover(crossover, pop[parents[c]], pop[parents[c + 1]], c1, c2, rng);
+            c1.mutate(mutation, config.mutation_rate, rng);
+            c2.mutate(mutation, config.mutation_rate, rng);
+            for (int i = e + c; i < Math.min(e + c + 2, n); i++) {
+                child_crossover[i] = x;
+                child_mutation[i] = m;
+                parent_fit[i] = Math.max(fit[parents[c]], fit[parents[c + 1]]);
+            }
+        }
+
+        PackedGenome[] t = pop;
+        pop = next;
+        next = t;
+        generation++;
+        System.arraycopy(elite_fit, 0, fit, 0, e);
+        evaluate(e);
+        if (crossover_ops != null || mutation_ops != null)
+            credit(e);
+        if (checkpoint != null)
+            checkpoint.maybe_save(this);
+    }
+
+    // reward = improvement of each bred child over its better parent
+    void credit(int from) {
+        for (int i = from; i < config.pop_size; i++) {
+            double r = Math.max(0, fit[i] - parent_fit[i]);
+            if (crossover_ops != null)
+                crossover_ops.reward(child_crossover[i], r);
+            if (mutation_ops != null)
+                mutation_ops.reward(child_mutation[i], r);
+        }
+        if (crossover_ops != null)
+            crossover_ops.update();
+        if (mutation_ops != null)
+            mutation_ops.update();
+    }
+
+    void evaluate() {
+        evaluate(0);
+    }
+
+    // fitness of pop[from, pop_size)
+    void evaluate(int from) {
+        if (evaluator != null) {
+            evaluator.evaluate(pop, from, config.pop_size, fitness, fit);
+            return;
+        }
+        for (int i = from; i < config.pop_size; i++)
+            fit[i] = fitness.evaluate(pop[i]);
+    }
+
+    int best_index() {
+        int best = 0;
+        for (int i = 1; i < config.pop_size; i++) {
+            if (fit[i] > fit[best])
+                best = i;
+        }
+        return best;
+    }
+
+    double best_fitness() {
+        return fit[best_index()];
+    }
+
+    double mean_fitness() {
+        double sum = 0;
+        for (int i = 0; i < config.pop_size; i++)
+            sum += fit[i];
+        return sum / config.pop_size;
+    }
+
+    // MAIN: the GA operators from GA, then every selection method on an odd
+    // population (an unpaired last child) for a few generations
+    public static void main(String[] args) {
+        GAConfig config = new GAConfig(POP_SIZE, CHROM_LENGTH, GA.selection_type, GA.crossover_type,
+                GA.mutation_type, 1.0 / CHROM_LENGTH, ELITES);
+        GenerationalGA ga = new GenerationalGA(config, GA::fitness_function, null, new RngService(42).stream(0));
+
+        ga.initialize();
+        for (int gen = 0; gen < GENERATIONS; gen++) {
+            System.out.printf("Gen %d: Best = %.0f, Avg = %.2f%n", gen, ga.best_fitness(), ga.mean_fitness());
+            ga.step();
+        }
+        System.out.println("Best chromosome: " + ga.pop[ga.best_index()]);
+
+        for (String selection : new String[] { "canonical", "roulette", "rank", "tournament", "steady" }) {
+            GAConfig odd = new GAConfig(5, CHROM_LENGTH, selection, GA.crossover_type, GA.mutation_type,
+                    1.0 / CHROM_LENGTH, 0);
+            GenerationalGA small = new GenerationalGA(odd, GA::fitness_function, null, new RngService(42).stream(0));
+            small.initialize();
+            small.run(GENERATIONS);
+            System.out.printf("pop_size 5, %-10s: Best = %.0f%n", selection, small.best_fitness());
+        }
+    }
+}
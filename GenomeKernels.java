@@ -0,0 +1,43 @@
+// Word-level kernels behind PackedGenome's uniform crossover and bit-flip
+// mutation. The Vector API version needs --add-modules jdk.incubator.vector
+// at compile and run time; without it (or with -Dga.simd=false) the scalar
+// loops are used. use_vector() switches at runtime, e.g. for benchmarks.
+public interface GenomeKernels {
+
+    // c1 = (a & mask) | (b & ~mask), c2 = (b & mask) | (a & ~mask) over words [0, n)
+    void blend(long[] a, long[] b, long[] mask, long[] c1, long[] c2, int n);
+
+    // bit j of masks[w] is set when u[64 * w + j] < rate
+    void bernoulli_masks(double[] u, double rate, long[] masks, int n);
+
+    // words[i] ^= mask[i] over [0, n)
+    void xor(long[] words, long[] mask, int n);
+
+    GenomeKernels SCALAR = Holder.SCALAR;
+    GenomeKernels VECTOR = Holder.VECTOR; // null when jdk.incubator.vector is not resolved
+
+    static GenomeKernels active() {
+        return Holder.active;
+    }
+
+    // returns whether the vector kernels are now in use
+    static boolean use_vector(boolean on) {
+        Holder.active = on && Holder.VECTOR != null ? Holder.VECTOR : Holder.SCALAR;
+        return Holder.active == Holder.VECTOR;
+    }
+
+    class Holder {
+        static final GenomeKernels SCALAR = new ScalarGenomeKernels();
+        static final GenomeKernels VECTOR = load_vector();
+        static volatile GenomeKernels active =
+                VECTOR != null && Boolean.parseBoolean(System.getProperty("ga.simd", "true")) ? VECTOR : SCALAR;
+
+        static GenomeKernels load_vector() {
+            try {
+                return (GenomeKernels) Class.forName("VectorGenomeKernels").getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                return null;
+            }
+        }
+    }
+}
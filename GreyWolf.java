@@ -1,27 +1,49 @@
-import java.util.Random;
 import java.util.Scanner;
+import java.util.random.RandomGenerator;
 
 public class GreyWolf {
 
-    static Random random = new Random();
+    static RandomGenerator random = RngService.global().stream("GreyWolf");
+
+    // early stop for main: Rosenbrock's minimum is 0
+    static final double TARGET = 1e-10;
+    static final int STAGNATION_WINDOW = 200;
+    static final double MIN_DIVERSITY = 1e-12; // mean per-dimension spread of the pack
 
     // Rosenbrock function as fitness
     public static double rosenbrock(double[] position) {
         double value = 0.0;
         for (int i = 0; i < position.length - 1; i++) {
-            value += 100 * Math.pow(position[i + 1] - Math.pow(position[i], 2), 2)
-                   + Math.pow(position[i] - 1, 2);
+            double a = position[i + 1] - position[i] * position[i], b = position[i] - 1;
+            value += 100 * a * a + b * b;
         }
         return value;
     }
 
     public static double[] optimize(int dimensions, int numWolves, int maxIterations, double lowerBound, double upperBound) {
+        return optimize(dimensions, numWolves, lowerBound, upperBound, new Termination(true).max_iterations(maxIterations));
+    }
+
+    public static double[] optimize(int dimensions, int numWolves, double lowerBound, double upperBound, Termination termination) {
+        return optimize(dimensions, numWolves, lowerBound, upperBound, termination, BatchObjective.ROSENBROCK);
+    }
+
+    // termination.max_iterations is also the horizon of the linearly decreasing `a`.
+    // The pack is flat (wolf w at [w * dimensions, (w + 1) * dimensions)) and
+    // scored by one objective call per iteration.
+    public static double[] optimize(int dimensions, int numWolves, double lowerBound, double upperBound, Termination termination,
+            BatchObjective objective) {
+        int maxIterations = termination.max_iterations;
+        if (maxIterations == Integer.MAX_VALUE)
+            throw new IllegalArgumentException("GWO needs max_iterations for its a schedule");
+        termination.start();
+        long evaluations = 0;
+
         // Initialize wolf positions
-        double[][] wolves = new double[numWolves][dimensions];
-        for (int i = 0; i < numWolves; i++) {
-            for (int j = 0; j < dimensions; j++) {
-                wolves[i][j] = lowerBound + (upperBound - lowerBound) * random.nextDouble();
-            }
+        double[] wolves = new double[numWolves * dimensions];
+        double[] fitness = new double[numWolves];
+        for (int k = 0; k < wolves.length; k++) {
+            wolves[k] = lowerBound + (upperBound - lowerBound) * random.nextDouble();
         }
 
         // Initialize Alpha, Beta, Delta
@@ -35,55 +57,61 @@ public class GreyWolf {
         double deltaFitness = Double.MAX_VALUE;
 
         // Main GWO loop
-        for (int iter = 0; iter < maxIterations; iter++) {
+        for (int iter = 0;; iter++) {
             double a = 2.0 - iter * (2.0 / maxIterations); // linearly decreasing
 
-            for (int w = 0; w < numWolves; w++) {
-                // Ensure wolves stay within bounds
-                for (int d = 0; d < dimensions; d++) {
-                    wolves[w][d] = Math.max(lowerBound, Math.min(upperBound, wolves[w][d]));
-                }
+            // Ensure wolves stay within bounds
+            for (int k = 0; k < wolves.length; k++) {
+                wolves[k] = Math.max(lowerBound, Math.min(upperBound, wolves[k]));
+            }
 
-                double fit = rosenbrock(wolves[w]);
+            objective.evaluate(wolves, dimensions, 0, numWolves, fitness);
 
-                // Update Alpha, Beta, Delta
+            // Update Alpha, Beta, Delta
+            for (int w = 0; w < numWolves; w++) {
+                double fit = fitness[w];
                 if (fit < alphaFitness) {
                     alphaFitness = fit;
-                    alphaWolf = wolves[w].clone();
+                    System.arraycopy(wolves, w * dimensions, alphaWolf, 0, dimensions);
                 } else if (fit < betaFitness) {
                     betaFitness = fit;
-                    betaWolf = wolves[w].clone();
+                    System.arraycopy(wolves, w * dimensions, betaWolf, 0, dimensions);
                 } else if (fit < deltaFitness) {
                     deltaFitness = fit;
-                    deltaWolf = wolves[w].clone();
+                    System.arraycopy(wolves, w * dimensions, deltaWolf, 0, dimensions);
                 }
             }
+            evaluations += numWolves;
+            double diversity = termination.needs_diversity() ? Termination.diversity(wolves, numWolves, dimensions) : Double.NaN;
+            if (termination.should_stop(alphaFitness, diversity, evaluations))
+                break;
 
             // Update positions of wolves
             for (int w = 0; w < numWolves; w++) {
                 for (int d = 0; d < dimensions; d++) {
+                    int k = w * dimensions + d;
                     double r1 = random.nextDouble();
                     double r2 = random.nextDouble();
                     double A1 = 2 * a * r1 - a;
                     double C1 = 2 * r2;
-                    double D_alpha = Math.abs(C1 * alphaWolf[d] - wolves[w][d]);
+                    double D_alpha = Math.abs(C1 * alphaWolf[d] - wolves[k]);
                     double X1 = alphaWolf[d] - A1 * D_alpha;
 
                     r1 = random.nextDouble();
                     r2 = random.nextDouble();
                     double A2 = 2 * a * r1 - a;
                     double C2 = 2 * r2;
-                    double D_beta = Math.abs(C2 * betaWolf[d] - wolves[w][d]);
+                    double D_beta = Math.abs(C2 * betaWolf[d] - wolves[k]);
                     double X2 = betaWolf[d] - A2 * D_beta;
 
                     r1 = random.nextDouble();
                     r2 = random.nextDouble();
                     double A3 = 2 * a * r1 - a;
                     double C3 = 2 * r2;
-                    double D_delta = Math.abs(C3 * deltaWolf[d] - wolves[w][d]);
+                    double D_delta = Math.abs(C3 * deltaWolf[d] - wolves[k]);
                     double X3 = deltaWolf[d] - A3 * D_delta;
 
-                    wolves[w][d] = (X1 + X2 + X3) / 3.0;
+                    wolves[k] = (X1 + X2 + X3) / 3.0;
                 }
             }
         }
@@ -92,6 +120,7 @@ public class GreyWolf {
     }
 
     public static void main(String[] args) {
+        RngService.print_global_seed();
         Scanner sc = new Scanner(System.in);
 
         System.out.print("Enter problem dimension: ");
@@ -109,13 +138,16 @@ public class GreyWolf {
         System.out.print("Enter upper bound: ");
         double upperBound = sc.nextDouble();
 
-        double[] bestSolution = optimize(dim, numWolves, maxIter, lowerBound, upperBound);
+        Termination termination = new Termination(true).max_iterations(maxIter).target(TARGET)
+                .stagnation(STAGNATION_WINDOW, 0).min_diversity(MIN_DIVERSITY);
+        double[] bestSolution = optimize(dim, numWolves, lowerBound, upperBound, termination);
 
         System.out.println("\nBest solution found:");
         for (double val : bestSolution) {
             System.out.printf("%.6f ", val);
         }
         System.out.println("\nBest fitness value (Rosenbrock): " + rosenbrock(bestSolution));
+        System.out.println(termination.report());
 
         sc.close();
     }
@@ -0,0 +1,141 @@
+// Sorts an index array by a primitive key array, no boxing.
+// Ties are broken by index, so the result matches a stable sort.
+public class IndexSort {
+
+    static final int INSERTION_THRESHOLD = 16;
+    static final int HEAP_SELECT_RATIO = 8; // use the bounded heap when k < n / 8
+
+    static void sort(int[] idx, double[] key, int n, boolean descending) {
+        quicksort(idx, key, 0, n - 1, descending);
+    }
+
+    // Partial sort: afterwards idx[0, k) holds the first k of idx[0, n) in
+    // sorted order; the rest of idx is left in no particular order. O(n)
+    // introselect, or a bounded heap of size k when k is much smaller than n.
+    static void select(int[] idx, double[] key, int n, int k, boolean descending) {
+        if (k <= 0)
+            return;
+        if (k >= n) {
+            sort(idx, key, n, descending);
+            return;
+        }
+        if ((long) k * HEAP_SELECT_RATIO < n)
+            heap_select(idx, key, 0, n - 1, k, descending);
+        else
+            introselect(idx, key, n, k, descending);
+        quicksort(idx, key, 0, k - 1, descending);
+    }
+
+    static void identity(int[] idx, int n) {
+        for (int i = 0; i < n; i++)
+            idx[i] = i;
+    }
+
+    // ---------- HELPERS ----------
+    static boolean before(int a, int b, double[] key, boolean descending) {
+        double ka = key[a], kb = key[b];
+        if (ka != kb)
+            return descending ? ka > kb : ka < kb;
+        return a < b;
+    }
+
+    static void quicksort(int[] idx, double[] key, int lo, int hi, boolean descending) {
+        while (hi - lo > INSERTION_THRESHOLD) {
+            int p = partition(idx, key, lo, hi, descending);
+            // recurse into the smaller half to keep the stack O(log n)
+            if (p - lo < hi - p) {
+                quicksort(idx, key, lo, p - 1, descending);
+                lo = p + 1;
+            } else {
+                quicksort(idx, key, p + 1, hi, descending);
+                hi = p - 1;
+            }
+        }
+        insertion_sort(idx, key, lo, hi, descending);
+    }
+
+    // median-of-three pivot moved to hi, Lomuto partition; returns the pivot's final slot
+    static int partition(int[] idx, double[] key, int lo, int hi, boolean descending) {
+        int mid = (lo + hi) >>> 1;
+        if (before(idx[mid], idx[lo], key, descending))
+            swap(idx, mid, lo);
+        if (before(idx[hi], idx[lo], key, descending))
+            swap(idx, hi, lo);
+        if (before(idx[mid], idx[hi], key, descending))
+            swap(idx, mid, hi);
+        int pivot = idx[hi];
+        int store = lo;
+        for (int i = lo; i < hi; i++) {
+            if (before(idx[i], pivot, key, descending))
+                swap(idx, i, store++);
+        }
+        swap(idx, store, hi);
+        return store;
+    }
+
+    // quickselect until the k-boundary is a partition point; if it degrades
+    // past 2 log n rounds the rest of the range falls back to heap selection
+    static void introselect(int[] idx, double[] key, int n, int k, boolean descending) {
+        int lo = 0, hi = n - 1;
+        int depth = 2 * (32 - Integer.numberOfLeadingZeros(n));
+        while (hi - lo > INSERTION_THRESHOLD) {
+            if (depth-- == 0) {
+                heap_select(idx, key, lo, hi, k - lo, descending);
+                return;
+            }
+            int p = partition(idx, key, lo, hi, descending);
+            if (p == k)
+                return;
+            if (p > k)
+                hi = p - 1;
+            else
+                lo = p + 1;
+        }
+        insertion_sort(idx, key, lo, hi, descending);
+    }
+
+    // moves the first m of idx[lo, hi] into idx[lo, lo + m) (unordered) using a
+    // heap rooted at idx[lo] whose root is the one that sorts last among them
+    static void heap_select(int[] idx, double[] key, int lo, int hi, int m, boolean descending) {
+        for (int i = m / 2 - 1; i >= 0; i--)
+            sift_last(idx, key, lo, i, m, descending);
+        for (int i = lo + m; i <= hi; i++) {
+            if (before(idx[i], idx[lo], key, descending)) {
+                swap(idx, i, lo);
+                sift_last(idx, key, lo, 0, m, descending);
+            }
+        }
+    }
+
+    static void sift_last(int[] idx, double[] key, int base, int i, int m, boolean descending) {
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= m)
+                return;
+            if (child + 1 < m && before(idx[base + child], idx[base + child + 1], key, descending))
+                child++;
+            if (!before(idx[base + i], idx[base + child], key, descending))
+                return;
+            swap(idx, base + i, base + child);
+            i = child;
+        }
+    }
+
+    static void insertion_sort(int[] idx, double[] key, int lo, int hi, boolean descending) {
+        for (int i = lo + 1; i <= hi; i++) {
+            int v = idx[i];
+            int j = i - 1;
+            while (j >= lo && before(v, idx[j], key, descending)) {
+                idx[j + 1] = idx[j];
+                j--;
+            }
+            idx[j + 1] = v;
+        }
+    }
+
+    static void swap(int[] a, int i, int j) {
+        int t = a[i];
+        a[i] = a[j];
+        a[j] = t;
+    }
+}
@@ -0,0 +1,78 @@
+// Binary min-heap of population slots keyed by a primitive fitness array,
+// with a slot -> heap position index so any slot can be re-keyed in
+// O(log n). The root is always the worst individual (lowest fitness).
+public class IndexedHeap {
+
+    final int[] heap; // heap position -> slot
+    final int[] pos;  // slot -> heap position
+    final double[] key;
+    int size;
+
+    IndexedHeap(double[] key, int capacity) {
+        this.key = key;
+        heap = new int[capacity];
+        pos = new int[capacity];
+    }
+
+    // O(n) bottom-up build over slots [0, n)
+    void build(int n) {
+        size = n;
+        for (int i = 0; i < n; i++) {
+            heap[i] = i;
+            pos[i] = i;
+        }
+        for (int i = (n >>> 1) - 1; i >= 0; i--)
+            sift_down(i);
+    }
+
+    int top() {
+        return heap[0];
+    }
+
+    double top_key() {
+        return key[heap[0]];
+    }
+
+    // call after key[slot] changed
+    void update(int slot) {
+        int i = pos[slot];
+        sift_up(i);
+        sift_down(pos[slot]);
+    }
+
+    // ---------- HELPERS ----------
+    void sift_up(int i) {
+        int slot = heap[i];
+        double k = key[slot];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (key[heap[parent]] <= k)
+                break;
+            place(i, heap[parent]);
+            i = parent;
+        }
+        place(i, slot);
+    }
+
+    void sift_down(int i) {
+        int slot = heap[i];
+        double k = key[slot];
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            int right = child + 1;
+            if (right < size && key[heap[right]] < key[heap[child]])
+                child = right;
+            if (k <= key[heap[child]])
+                break;
+            place(i, heap[child]);
+            i = child;
+        }
+        place(i, slot);
+    }
+
+    void place(int i, int slot) {
+        heap[i] = slot;
+        pos[slot] = i;
+    }
+}
@@ -0,0 +1,255 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Phaser;
+import java.util.random.RandomGenerator;
+
+// Island model: N independent populations, one thread each. Every
+// MIGRATION_INTERVAL generations each island copies its elites into its own
+// outbox, addressed to a neighbour; at a barrier every island then takes the
+// migrants addressed to it, in island order, in place of its worst
+// individuals, and a second barrier keeps outboxes intact until all have read
+// them. Islands only wait on each other at an exchange, so a fixed seed gives
+// a fixed run whatever the thread timing.
+public class IslandGA {
+
+    // CONFIGURATION (demo)
+    static final int ISLANDS = 4;
+    static final int POP_SIZE = 64;
+    static final int CHROM_LENGTH = 256;
+    static final int GENERATIONS = 200;
+    static final int MIGRATION_INTERVAL = 10;
+    static final int MIGRANTS = 2;
+    static final String topology = "ring"; // options: ring, random
+
+    // per-island operators, same option names as GA.select_method / crossover_method / mutation_method
+    static class IslandConfig {
+        final String selection_type;
+        final String crossover_type;
+        final String mutation_type;
+        final double mutation_rate;
+
+        IslandConfig(String selection_type, String crossover_type, String mutation_type, double mutation_rate) {
+            this.selection_type = selection_type;
+            this.crossover_type = crossover_type;
+            this.mutation_type = mutation_type;
+            this.mutation_rate = mutation_rate;
+        }
+    }
+
+    final int pop_size, chrom_length, generations, migration_interval, migrants;
+    final String topology_type;
+    final FitnessFunction<PackedGenome> fitness;
+    final Island[] islands;
+    Phaser exchange; // one party per island, for the current run()
+
+    IslandGA(IslandConfig[] configs, int pop_size, int chrom_length, int generations, int migration_interval,
+            int migrants, String topology_type, FitnessFunction<PackedGenome> fitness, long seed) {
+        if (!topology_type.equals("ring") && !topology_type.equals("random"))
+            throw new IllegalArgumentException("Unknown topology: " + topology_type);
+        this.pop_size = pop_size;
+        this.chrom_length = chrom_length;
+        this.generations = generations;
+        this.migration_interval = migration_interval;
+        this.migrants = Math.min(migrants, pop_size - 1);
+        this.topology_type = topology_type;
+        this.fitness = fitness;
+
+        // island i always gets stream i of the seed
+        RngService rngs = new RngService(seed);
+        islands = new Island[configs.length];
+        for (int i = 0; i < configs.length; i++)
+            islands[i] = new Island(i, configs[i], rngs.stream(i));
+    }
+
+    // runs every island on its own thread and returns the best genome found
+    PackedGenome run() throws Exception {
+        exchange = new Phaser(islands.length);
+        ExecutorService pool = Executors.newFixedThreadPool(islands.length);
+        try {
+            List<Future<?>> running = new ArrayList<>();
+            for (Island island : islands)
+                running.add(pool.submit(island));
+            for (Future<?> f : running)
+                ParallelEvaluator.await(f);
+        } finally {
+            pool.shutdown();
+        }
+
+        Island best = islands[0];
+        for (Island island : islands) {
+            if (island.best_fitness() > best.best_fitness())
+                best = island;
+        }
+        return best.pop[best.best_index()];
+    }
+
+    // ---------- ISLAND ----------
+    class Island implements Runnable {
+        final int id;
+        final IslandConfig config;
+        final RandomGenerator rng;
+        final Selection selection = new Selection();
+        final PackedGenome[] outbox;
+        final int[] outbox_target;
+
+        PackedGenome[] pop, next;
+        final PackedGenome scratch;
+        final double[] fit;
+        final int[] parents, order;
+        int received;
+
+        Island(int id, IslandConfig config, RandomGenerator rng) {
+            this.id = id;
+            this.config = config;
+            this.rng = rng;
+            pop = new PackedGenome[pop_size];
+            next = new PackedGenome[pop_size];
+            fit = new double[pop_size];
+            parents = new int[pop_size];
+            order = new int[pop_size];
+            scratch = new PackedGenome(chrom_length);
+            outbox = new PackedGenome[migrants];
+            outbox_target = new int[migrants];
+            for (int m = 0; m < migrants; m++)
+                outbox[m] = new PackedGenome(chrom_length);
+        }
+
+        // a failing island terminates the exchange so the others stop instead of waiting for it
+        @Override
+        public void run() {
+            try {
+                evolve();
+            } catch (RuntimeException | Error e) {
+                exchange.forceTermination();
+                throw e;
+            }
+        }
+
+        void evolve() {
+            for (int i = 0; i < pop_size; i++) {
+                pop[i] = PackedGenome.random_genome(chrom_length, rng);
+                next[i] = new PackedGenome(chrom_length);
+            }
+            evaluate();
+            for (int gen = 1; gen <= generations; gen++) {
+                breed();
+                evaluate();
+                if (gen % migration_interval == 0) {
+                    emigrate();
+                    if (exchange.arriveAndAwaitAdvance() < 0)
+                        return;
+                    immigrate();
+                    if (exchange.arriveAndAwaitAdvance() < 0)
+                        return;
+                }
+            }
+        }
+
+        void evaluate() {
+            for (int i = 0; i < pop_size; i++)
+                fit[i] = fitness.evaluate(pop[i]);
+        }
+
+        // the current best survives in slot 0, the rest are offspring
+        void breed() {
+            selection.select(config.selection_type, fit, pop_size, pop_size, rng, parents);
+            next[0].copy_from(pop[best_index()]);
+            for (int i = 1; i < pop_size; i += 2) {
+                PackedGenome p1 = pop[parents[i - 1]], p2 = pop[parents[i]];
+                PackedGenome c1 = next[i];
+                PackedGenome c2 = i + 1 < pop_size ? next[i + 1] : scratch; // odd size: second child dropped
+                PackedGenome.crossover(config.crossover_type, p1, p2, c1, c2, rng);
+                c1.mutate(config.mutation_type, config.mutation_rate, rng);
+                c2.mutate(config.mutation_type, config.mutation_rate, rng);
+            }
+            PackedGenome[] t = pop;
+            pop = next;
+            next = t;
+        }
+
+        // ---------- MIGRATION ----------
+        void emigrate() {
+            IndexSort.identity(order, pop_size);
+            IndexSort.select(order, fit, pop_size, migrants, true);
+            for (int m = 0; m < migrants; m++) {
+                outbox[m].copy_from(pop[order[m]]);
+                outbox_target[m] = target();
+            }
+        }
+
+        int target() {
+            if (islands.length == 1)
+                return id;
+            if (topology_type.equals("ring"))
+                return (id + 1) % islands.length;
+            int t = rng.nextInt(islands.length - 1);
+            return t >= id ? t + 1 : t;
+        }
+
+        // arrivals overwrite the worst individuals, never the current best; beyond
+        // pop_size - 1 arrivals the later islands' migrants are dropped
+        void immigrate() {
+            int arrivals = 0;
+            for (Island from : islands) {
+                for (int m = 0; m < migrants; m++) {
+                    if (from.outbox_target[m] == id)
+                        arrivals++;
+                }
+            }
+            int room = Math.min(pop_size - 1, arrivals);
+            IndexSort.identity(order, pop_size);
+            IndexSort.select(order, fit, pop_size, room, false);
+            int slot = 0;
+            for (Island from : islands) {
+                for (int m = 0; m < migrants && slot < room; m++) {
+                    if (from.outbox_target[m] != id)
+                        continue;
+                    int i = order[slot++];
+                    pop[i].copy_from(from.outbox[m]);
+                    fit[i] = fitness.evaluate(pop[i]);
+                    received++;
+                }
+            }
+        }
+
+        int best_index() {
+            int best = 0;
+            for (int i = 1; i < pop_size; i++) {
+                if (fit[i] > fit[best])
+                    best = i;
+            }
+            return best;
+        }
+
+        double best_fitness() {
+            return fit[best_index()];
+        }
+    }
+
+    // MAIN
+    public static void main(String[] args) throws Exception {
+        IslandConfig[] configs = new IslandConfig[ISLANDS];
+        String[] selections = { "tournament", "rank", "roulette", "canonical" };
+        String[] crossovers = { "two_point", "uniform", "single_point", "two_point" };
+        for (int i = 0; i < ISLANDS; i++)
+            configs[i] = new IslandConfig(selections[i % 4], crossovers[i % 4], "bit_flip", 1.0 / CHROM_LENGTH);
+
+        ConcurrentFitnessCache cache = new ConcurrentFitnessCache(GA::fitness_function, 1 << 16);
+        IslandGA ga = new IslandGA(configs, POP_SIZE, CHROM_LENGTH, GENERATIONS, MIGRATION_INTERVAL, MIGRANTS,
+                topology, cache, 42L);
+
+        long start = System.nanoTime();
+        PackedGenome best = ga.run();
+        long ms = (System.nanoTime() - start) / 1_000_000;
+
+        for (Island island : ga.islands) {
+            System.out.printf("Island %d (%s/%s): Best = %.0f, Migrants received = %d%n", island.id,
+                    island.config.selection_type, island.config.crossover_type, island.best_fitness(), island.received);
+        }
+        System.out.printf("Best overall = %d of %d genes in %d ms%n", best.count_ones(), CHROM_LENGTH, ms);
+        System.out.printf("Fitness cache: %d hits, %d misses, %d entries%n", cache.hits(), cache.misses(), cache.size());
+    }
+}
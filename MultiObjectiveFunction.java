@@ -0,0 +1,8 @@
+// Vector objective for a GA chromosome of type G (every objective higher is
+// better). Writes its m values to out[offset, offset + m), so a whole
+// population's objectives can live in one flat double[].
+@FunctionalInterface
+public interface MultiObjectiveFunction<G> {
+
+    void evaluate(G genome, double[] out, int offset);
+}
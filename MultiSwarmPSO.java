@@ -0,0 +1,195 @@
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Many independent gbest sub-swarms (flat Swarms), one ForkJoin task each.
+// Swarms run `interval` iterations with no shared state, then at a barrier
+//   - exchange: swarm s's best overwrites the worst particle of swarm s + 1 (ring)
+//   - restart: a swarm whose diversity fell below min_diversity is
+//     re-initialized over the whole box (the overall best is kept here)
+// Swarm s always draws from RNG stream s, so runs are reproducible for any
+// pool size. The Termination policy is consulted once per exchange, so its
+// "iterations" are exchange epochs.
+public class MultiSwarmPSO {
+
+    // CONFIGURATION (demo)
+    static final int SWARMS = 16;
+    static final int PARTICLES = 16; // per swarm
+    static final int DIMENSIONS = 30;
+    static final int INTERVAL = 25;
+    static final int EPOCHS = 80;
+    static final double MIN_DIVERSITY = 1e-3;
+    static final double W = 0.72, C1 = 1.49, C2 = 1.49;
+    static final double LOWER = -5.12, UPPER = 5.12;
+
+    final Swarm[] swarms;
+    final RngStream[] rngs;
+    final Objective objective;
+    final double w, c1, c2, lower, upper, min_diversity;
+    final int interval;
+    final ForkJoinPool pool;
+
+    // per-swarm report; improved_at counts only the swarm's own search, not migrants
+    final int[] restarts, improved_at;
+    final double[] best_seen;
+
+    final double[] best_position;
+    double best_score = Double.POSITIVE_INFINITY;
+    int epoch;
+    long evaluations;
+
+    MultiSwarmPSO(int swarms, int particles, int dims, double lower, double upper, double w, double c1, double c2,
+            int interval, double min_diversity, Objective objective, ForkJoinPool pool, long seed) {
+        if (interval < 1)
+            throw new IllegalArgumentException("interval must be >= 1");
+        this.objective = objective;
+        this.lower = lower;
+        this.upper = upper;
+        this.w = w;
+        this.c1 = c1;
+        this.c2 = c2;
+        this.interval = interval;
+        this.min_diversity = min_diversity;
+        this.pool = pool != null ? pool : ForkJoinPool.commonPool();
+        this.swarms = new Swarm[swarms];
+        this.rngs = new RngStream[swarms];
+        RngService service = new RngService(seed);
+        for (int s = 0; s < swarms; s++) {
+            this.swarms[s] = new Swarm(particles, dims);
+            rngs[s] = service.stream(s);
+            restart(s);
+        }
+        restarts = new int[swarms];
+        improved_at = new int[swarms];
+        best_seen = new double[swarms];
+        Arrays.fill(best_seen, Double.POSITIVE_INFINITY);
+        best_position = new double[dims];
+    }
+
+    // ---------- EPOCH ----------
+    void step() {
+        pool.invoke(new Swarms(0, swarms.length));
+        for (int s = 0; s < swarms.length; s++) {
+            Swarm swarm = swarms[s];
+            if (swarm.gbest_score < best_seen[s])
+                best_seen[s] = swarm.gbest_score;
+            if (swarm.gbest_score < best_score) {
+                best_score = swarm.gbest_score;
+                System.arraycopy(swarm.gbest, 0, best_position, 0, swarm.dims);
+            }
+        }
+        exchange();
+        for (int s = 0; s < swarms.length; s++) {
+            if (swarms[s].diversity() < min_diversity) {
+                restart(s);
+                restarts[s]++;
+            }
+        }
+        epoch++;
+        evaluations += (long) interval * swarms.length * swarms[0].n;
+    }
+
+    Termination.StopReason run(Termination termination) {
+        termination.start();
+        while (true) {
+            step();
+            if (termination.should_stop(best_score, Double.NaN, evaluations))
+                return termination.reason;
+        }
+    }
+
+    // `interval` plain gbest iterations of one swarm. It has improved only if its own
+    // particles beat both gbest on entry (possibly a migrant) and its best before any restart
+    void iterate(int s) {
+        Swarm swarm = swarms[s];
+        double before = Math.min(swarm.gbest_score, best_seen[s]);
+        for (int t = 0; t < interval; t++) {
+            swarm.offer_global(swarm.evaluate(objective, 0, swarm.n));
+            swarm.move(0, swarm.n, w, c1, c2, lower, upper, rngs[s]);
+        }
+        if (swarm.gbest_score < before)
+            improved_at[s] = epoch + 1;
+    }
+
+    // ring migration: best of s replaces the worst personal best of s + 1
+    void exchange() {
+        int k = swarms.length;
+        if (k < 2)
+            return;
+        double[][] migrants = new double[k][];
+        double[] scores = new double[k];
+        for (int s = 0; s < k; s++) {
+            migrants[s] = swarms[s].gbest.clone();
+            scores[s] = swarms[s].gbest_score;
+        }
+        for (int s = 0; s < k; s++) {
+            Swarm to = swarms[(s + 1) % k];
+            int worst = 0;
+            for (int i = 1; i < to.n; i++) {
+                if (to.pbest_score[i] > to.pbest_score[worst])
+                    worst = i;
+            }
+            if (scores[s] >= to.pbest_score[worst])
+                continue;
+            System.arraycopy(migrants[s], 0, to.x, worst * to.dims, to.dims);
+            System.arraycopy(migrants[s], 0, to.pbest, worst * to.dims, to.dims);
+            to.pbest_score[worst] = scores[s];
+            to.offer_global(worst);
+        }
+    }
+
+    void restart(int s) {
+        swarms[s].initialize(lower, upper, ParallelPSO.VELOCITY_FRACTION * (upper - lower), rngs[s]);
+    }
+
+    String report() {
+        StringBuilder sb = new StringBuilder();
+        for (int s = 0; s < swarms.length; s++) {
+            sb.append(String.format("Swarm %2d: best = %10.4f, last improved at epoch %3d, restarts = %d,"
+                    + " diversity = %.2e%n", s, best_seen[s], improved_at[s], restarts[s], swarms[s].diversity()));
+        }
+        return sb.toString();
+    }
+
+    // splits swarm indices [lo, hi) down to one swarm per task
+    class Swarms extends RecursiveAction {
+        private static final long serialVersionUID = 1L; // tasks are Serializable, but never serialized
+
+        final int lo, hi;
+
+        Swarms(int lo, int hi) {
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo == 1) {
+                iterate(lo);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new Swarms(lo, mid), new Swarms(mid, hi));
+        }
+    }
+
+    // MAIN: 30-D Rastrigin, one big gbest swarm vs the same particles split into sub-swarms
+    public static void main(String[] args) {
+        long budget = (long) SWARMS * PARTICLES * INTERVAL * EPOCHS;
+
+        long start = System.nanoTime();
+        ParallelPSO single = new ParallelPSO(SWARMS * PARTICLES, DIMENSIONS, LOWER, UPPER, W, C1, C2, "sync",
+                PARTICLES, ParallelPSO::rastrigin, null, 42);
+        single.run(new Termination(true).max_evaluations(budget));
+        System.out.printf("Single swarm of %d: f(gbest) = %.4f in %d ms%n", SWARMS * PARTICLES, single.best_score(),
+                (System.nanoTime() - start) / 1_000_000);
+
+        start = System.nanoTime();
+        MultiSwarmPSO multi = new MultiSwarmPSO(SWARMS, PARTICLES, DIMENSIONS, LOWER, UPPER, W, C1, C2, INTERVAL,
+                MIN_DIVERSITY, ParallelPSO::rastrigin, null, 42);
+        Termination termination = new Termination(true).max_evaluations(budget);
+        multi.run(termination);
+        System.out.printf("%d swarms of %d: f(gbest) = %.4f in %d ms%n%s%s%n", SWARMS, PARTICLES, multi.best_score,
+                (System.nanoTime() - start) / 1_000_000, multi.report(), termination.report());
+    }
+}
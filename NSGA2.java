@@ -0,0 +1,226 @@
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+// NSGA-II over packed genomes with the same crossover/mutation operators as
+// GA. Parents and offspring share one 2n buffer: offspring are bred into
+// slots [n, 2n) by binary tournament on (front, crowding distance), the 2n
+// are sorted into fronts, and the best n are moved to the front of the
+// buffer. Objectives live in one flat double[] (see MultiObjectiveFunction),
+// so sorting 100k+ individuals needs O(n) memory. Every non-dominated
+// survivor is also offered to a bounded ParetoArchive.
+public class NSGA2 {
+
+    // CONFIGURATION (demo: LOTZ, leading ones vs trailing zeros)
+    static final int POP_SIZE = 100;
+    static final int CHROM_LENGTH = 32;
+    static final int GENERATIONS = 300;
+    static final int ARCHIVE_SIZE = 64;
+
+    final int pop_size, chrom_length, m;
+    final String crossover_type, mutation_type;
+    final double mutation_rate;
+    final MultiObjectiveFunction<PackedGenome> objectives;
+    final RandomGenerator rng;
+    final NonDominatedSort nds = new NonDominatedSort();
+    final ParetoArchive archive;
+
+    PackedGenome[] all, spare; // all[0, n): population, all[n, 2n): offspring
+    double[] obj, obj_spare;
+    int[] rank, rank_spare;
+    double[] crowd, crowd_spare;
+    final int[] survivors, tail;
+    final boolean[] kept;
+    final PackedGenome scratch;
+    int generation;
+
+    NSGA2(int pop_size, int chrom_length, int m, String crossover_type, String mutation_type, double mutation_rate,
+            int archive_size, MultiObjectiveFunction<PackedGenome> objectives, RandomGenerator rng) {
+        if (pop_size < 2)
+            throw new IllegalArgumentException("pop_size must be >= 2");
+        this.pop_size = pop_size;
+        this.chrom_length = chrom_length;
+        this.m = m;
+        this.crossover_type = crossover_type;
+        this.mutation_type = mutation_type;
+        this.mutation_rate = mutation_rate;
+        this.objectives = objectives;
+        this.rng = rng;
+        archive = new ParetoArchive(archive_size, m, chrom_length);
+
+        int n2 = 2 * pop_size;
+        all = new PackedGenome[n2];
+        spare = new PackedGenome[n2];
+        for (int i = 0; i < n2; i++)
+            all[i] = new PackedGenome(chrom_length);
+        obj = new double[n2 * m];
+        obj_spare = new double[n2 * m];
+        rank = new int[n2];
+        rank_spare = new int[n2];
+        crowd = new double[n2];
+        crowd_spare = new double[n2];
+        survivors = new int[pop_size];
+        tail = new int[n2];
+        kept = new boolean[n2];
+        scratch = new PackedGenome(chrom_length);
+    }
+
+    void initialize() {
+        for (int i = 0; i < pop_size; i++) {
+            PackedGenome g = all[i];
+            for (int w = 0; w < g.words.length; w++)
+                g.words[w] = rng.nextLong();
+            g.clear_tail();
+            objectives.evaluate(g, obj, i * m);
+        }
+        // rank and crowd the initial population for the first tournaments
+        nds.sort(obj, m, pop_size, rank);
+        for (int k = 0; k < nds.fronts; k++)
+            nds.crowding(obj, m, nds.members, nds.front_start[k], nds.front_start[k + 1], crowd);
+        generation = 0;
+        update_archive();
+    }
+
+    void run(int generations) {
+        for (int g = 0; g < generations; g++)
+            step();
+    }
+
+    void step() {
+        int n = pop_size;
+        for (int c = 0; c < n; c += 2) {
+            PackedGenome c1 = all[n + c];
+            PackedGenome c2 = c + 1 < n ? all[n + c + 1] : scratch; // odd size: second child dropped
+            PackedGenome.crossover(crossover_type, all[tournament()], all[tournament()], c1, c2, rng);
+            c1.mutate(mutation_type, mutation_rate, rng);
+            c2.mutate(mutation_type, mutation_rate, rng);
+        }
+        for (int i = n; i < 2 * n; i++)
+            objectives.evaluate(all[i], obj, i * m);
+        survive();
+        generation++;
+        update_archive();
+    }
+
+    // binary tournament: lower front wins, then larger crowding distance
+    int tournament() {
+        int a = rng.nextInt(pop_size), b = rng.nextInt(pop_size);
+        if (rank[a] != rank[b])
+            return rank[a] < rank[b] ? a : b;
+        return crowd[a] >= crowd[b] ? a : b;
+    }
+
+    // ---------- ENVIRONMENTAL SELECTION ----------
+    // whole fronts while they fit, then the least crowded of the front that
+    // overflows; survivors move to [0, n), the losers become offspring buffers
+    void survive() {
+        int n = pop_size, n2 = 2 * n;
+        nds.sort(obj, m, n2, rank);
+        int filled = 0;
+        for (int k = 0; k < nds.fronts && filled < n; k++) {
+            int from = nds.front_start[k], to = nds.front_start[k + 1];
+            nds.crowding(obj, m, nds.members, from, to, crowd);
+            int room = Math.min(n - filled, to - from);
+            System.arraycopy(nds.members, from, tail, 0, to - from);
+            if (room < to - from)
+                IndexSort.select(tail, crowd, to - from, room, true);
+            System.arraycopy(tail, 0, survivors, filled, room);
+            filled += room;
+        }
+
+        Arrays.fill(kept, false);
+        for (int i = 0; i < n; i++) {
+            int s = survivors[i];
+            kept[s] = true;
+            spare[i] = all[s];
+            System.arraycopy(obj, s * m, obj_spare, i * m, m);
+            rank_spare[i] = rank[s];
+            crowd_spare[i] = crowd[s];
+        }
+        int free = n;
+        for (int i = 0; i < n2; i++) {
+            if (!kept[i])
+                spare[free++] = all[i];
+        }
+
+        PackedGenome[] g = all;
+        all = spare;
+        spare = g;
+        double[] o = obj;
+        obj = obj_spare;
+        obj_spare = o;
+        int[] r = rank;
+        rank = rank_spare;
+        rank_spare = r;
+        double[] c = crowd;
+        crowd = crowd_spare;
+        crowd_spare = c;
+    }
+
+    int front_size() {
+        int count = 0;
+        for (int i = 0; i < pop_size; i++) {
+            if (rank[i] == 0)
+                count++;
+        }
+        return count;
+    }
+
+    void update_archive() {
+        for (int i = 0; i < pop_size; i++) {
+            if (rank[i] == 0)
+                archive.offer(all[i], obj, i * m);
+        }
+    }
+
+    // ---------- LOTZ ----------
+    static int leading_ones(PackedGenome g) {
+        int count = 0;
+        for (long w : g.words) {
+            int ones = Long.numberOfTrailingZeros(~w);
+            count += ones;
+            if (ones < 64)
+                break;
+        }
+        return count;
+    }
+
+    static int trailing_zeros(PackedGenome g) {
+        for (int w = g.words.length - 1; w >= 0; w--) {
+            if (g.words[w] != 0)
+                return g.length - 1 - ((w << 6) + 63 - Long.numberOfLeadingZeros(g.words[w]));
+        }
+        return g.length;
+    }
+
+    static void lotz(PackedGenome g, double[] out, int offset) {
+        out[offset] = leading_ones(g);
+        out[offset + 1] = trailing_zeros(g);
+    }
+
+    // MAIN
+    public static void main(String[] args) {
+        NSGA2 ga = new NSGA2(POP_SIZE, CHROM_LENGTH, 2, "single_point", "bit_flip", 1.0 / CHROM_LENGTH,
+                ARCHIVE_SIZE, NSGA2::lotz, new RngService(42).stream(0));
+        ga.initialize();
+        for (int gen = 0; gen < GENERATIONS; gen += 50) {
+            ga.run(50);
+            System.out.printf("Gen %d: Front size = %d, Archive = %d of %d Pareto points%n", ga.generation,
+                    ga.front_size(), ga.archive.size, CHROM_LENGTH + 1);
+        }
+
+        // sorting cost on large random populations
+        RandomGenerator rng = new RngService(7).stream(1);
+        NonDominatedSort nds = new NonDominatedSort();
+        for (int m = 2; m <= 3; m++) {
+            int n = 100_000;
+            double[] obj = new double[n * m];
+            int[] rank = new int[n];
+            for (int i = 0; i < obj.length; i++)
+                obj[i] = rng.nextDouble();
+            long start = System.nanoTime();
+            int fronts = nds.sort(obj, m, n, rank);
+            System.out.printf("%d objectives, n = %d: %d fronts in %d ms%n", m, n, fronts,
+                    (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+}
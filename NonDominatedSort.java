@@ -0,0 +1,186 @@
+import java.util.Arrays;
+
+// Fast non-dominated sorting over a flat objective array (higher is better):
+// obj[i * m + j] is objective j of individual i.
+//
+// Solutions are presorted lexicographically, so anything that can dominate
+// p is visited before p and p only has to be compared with the fronts built
+// so far (efficient non-dominated sort). Being dominated by front k implies
+// being dominated by every earlier front, so with two objectives, where only
+// the last member added to a front can dominate p, the front is found by
+// binary search: O(n log n) in total. With more objectives each front is
+// scanned member by member. Fronts are linked lists threaded through one
+// int array, so memory stays O(n) - never an n x n domination matrix.
+public class NonDominatedSort {
+
+    int[] order = new int[0];
+    int[] prev = new int[0]; // previous member of the same front, -1 at the head
+    int[] front_last = new int[0];
+    int[] members = new int[0]; // individuals grouped by front after sort()
+    int[] front_start = new int[1]; // front k is members[front_start[k], front_start[k + 1])
+    int[] buf = new int[0];
+    double[] column = new double[0];
+    int fronts;
+
+    // rank[i] = front of individual i (0 = non-dominated); returns the number of fronts
+    int sort(double[] obj, int m, int n, int[] rank) {
+        grow(n);
+        IndexSort.identity(order, n);
+        lex_sort(order, obj, m, 0, n - 1);
+        fronts = 0;
+        for (int s = 0; s < n; s++) {
+            int p = order[s];
+            int k = m == 2 ? search_fronts(obj, p) : scan_fronts(obj, m, p);
+            rank[p] = k;
+            prev[p] = k < fronts ? front_last[k] : -1;
+            front_last[k] = p;
+            if (k == fronts)
+                fronts++;
+        }
+        group(rank, n);
+        return fronts;
+    }
+
+    // first front whose last member does not dominate p
+    int search_fronts(double[] obj, int p) {
+        int lo = 0, hi = fronts;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (dominates(obj, front_last[mid] * 2, obj, p * 2, 2))
+                lo = mid + 1;
+            else
+                hi = mid;
+        }
+        return lo;
+    }
+
+    // first front with no member dominating p, newest members checked first;
+    // dominated fronts usually exit early, so a linear walk beats bisection here
+    int scan_fronts(double[] obj, int m, int p) {
+        for (int k = 0; k < fronts; k++) {
+            if (!front_dominates(obj, m, k, p))
+                return k;
+        }
+        return fronts;
+    }
+
+    boolean front_dominates(double[] obj, int m, int k, int p) {
+        for (int q = front_last[k]; q >= 0; q = prev[q]) {
+            if (dominates(obj, q * m, obj, p * m, m))
+                return true;
+        }
+        return false;
+    }
+
+    // counting sort of the individuals by rank into members / front_start
+    void group(int[] rank, int n) {
+        if (front_start.length < fronts + 1)
+            front_start = new int[fronts + 1];
+        Arrays.fill(front_start, 0, fronts + 1, 0);
+        for (int i = 0; i < n; i++)
+            front_start[rank[i] + 1]++;
+        for (int k = 0; k < fronts; k++)
+            front_start[k + 1] += front_start[k];
+        for (int s = 0; s < n; s++) {
+            int p = order[s]; // fronts keep the lexicographic order
+            members[front_start[rank[p]]++] = p;
+        }
+        for (int k = fronts; k > 0; k--)
+            front_start[k] = front_start[k - 1];
+        front_start[0] = 0;
+    }
+
+    // ---------- CROWDING DISTANCE ----------
+    // crowding distance of ids[from, to) into dist[id]; the extremes of every objective get +inf
+    void crowding(double[] obj, int m, int[] ids, int from, int to, double[] dist) {
+        int count = to - from;
+        if (buf.length < count)
+            buf = new int[count];
+        if (column.length < obj.length / m)
+            column = new double[obj.length / m];
+        for (int i = 0; i < count; i++) {
+            buf[i] = ids[from + i];
+            dist[buf[i]] = count <= 2 ? Double.POSITIVE_INFINITY : 0;
+        }
+        if (count <= 2)
+            return;
+        for (int j = 0; j < m; j++) {
+            for (int i = 0; i < count; i++)
+                column[buf[i]] = obj[buf[i] * m + j];
+            IndexSort.sort(buf, column, count, false);
+            double lo = column[buf[0]], hi = column[buf[count - 1]];
+            dist[buf[0]] = dist[buf[count - 1]] = Double.POSITIVE_INFINITY;
+            if (hi == lo)
+                continue;
+            for (int i = 1; i < count - 1; i++)
+                dist[buf[i]] += (column[buf[i + 1]] - column[buf[i - 1]]) / (hi - lo);
+        }
+    }
+
+    // ---------- HELPERS ----------
+    // a[ao, ao + m) is at least as good everywhere and better somewhere than b[bo, bo + m)
+    static boolean dominates(double[] a, int ao, double[] b, int bo, int m) {
+        boolean better = false;
+        for (int j = 0; j < m; j++) {
+            double x = a[ao + j], y = b[bo + j];
+            if (x < y)
+                return false;
+            if (x > y)
+                better = true;
+        }
+        return better;
+    }
+
+    // lexicographically descending, ties by index (same scheme as IndexSort)
+    static boolean before(int a, int b, double[] obj, int m) {
+        for (int j = 0; j < m; j++) {
+            double x = obj[a * m + j], y = obj[b * m + j];
+            if (x != y)
+                return x > y;
+        }
+        return a < b;
+    }
+
+    static void lex_sort(int[] idx, double[] obj, int m, int lo, int hi) {
+        while (hi - lo > IndexSort.INSERTION_THRESHOLD) {
+            int mid = (lo + hi) >>> 1;
+            if (before(idx[mid], idx[lo], obj, m))
+                IndexSort.swap(idx, mid, lo);
+            if (before(idx[hi], idx[lo], obj, m))
+                IndexSort.swap(idx, hi, lo);
+            if (before(idx[mid], idx[hi], obj, m))
+                IndexSort.swap(idx, mid, hi);
+            int pivot = idx[hi], p = lo;
+            for (int i = lo; i < hi; i++) {
+                if (before(idx[i], pivot, obj, m))
+                    IndexSort.swap(idx, i, p++);
+            }
+            IndexSort.swap(idx, p, hi);
+            if (p - lo < hi - p) {
+                lex_sort(idx, obj, m, lo, p - 1);
+                lo = p + 1;
+            } else {
+                lex_sort(idx, obj, m, p + 1, hi);
+                hi = p - 1;
+            }
+        }
+        for (int i = lo + 1; i <= hi; i++) {
+            int v = idx[i];
+            int j = i - 1;
+            while (j >= lo && before(v, idx[j], obj, m)) {
+                idx[j + 1] = idx[j];
+                j--;
+            }
+            idx[j + 1] = v;
+        }
+    }
+
+    void grow(int n) {
+        if (order.length < n) {
+            order = new int[n];
+            prev = new int[n];
+            front_last = new int[n];
+            members = new int[n];
+        }
+    }
+}
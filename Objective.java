@@ -0,0 +1,7 @@
+// Continuous objective to minimize, same signature as GreyWolf.rosenbrock,
+// so GreyWolf::rosenbrock can be passed directly.
+@FunctionalInterface
+public interface Objective {
+
+    double evaluate(double[] x);
+}
@@ -0,0 +1,49 @@
+// Whole-population kernels for the standard test functions (minimization).
+// Positions are flat, row i at [i * dims, (i + 1) * dims) as in Swarm and
+// RealCodedGA; each kernel writes f(row i) to out[i] for i in [from, to).
+// The Vector API version needs --add-modules jdk.incubator.vector at compile
+// and run time; without it (or with -Dobjective.simd=false) the scalar loops
+// are used. use_vector() switches at runtime, e.g. for benchmarks.
+public interface ObjectiveKernels {
+
+    // sum of 100 (x[j+1] - x[j]^2)^2 + (x[j] - 1)^2, minimum 0 at (1, ..., 1)
+    void rosenbrock(double[] x, int dims, int from, int to, double[] out);
+
+    // 10 d + sum of x[j]^2 - 10 cos(2 pi x[j]), minimum 0 at the origin
+    void rastrigin(double[] x, int dims, int from, int to, double[] out);
+
+    // sum of x[j]^2
+    void sphere(double[] x, int dims, int from, int to, double[] out);
+
+    // -20 exp(-0.2 sqrt(mean x^2)) - exp(mean cos(2 pi x)) + 20 + e, minimum 0 at the origin
+    void ackley(double[] x, int dims, int from, int to, double[] out);
+
+    ObjectiveKernels SCALAR = Holder.SCALAR;
+    ObjectiveKernels VECTOR = Holder.VECTOR; // null when jdk.incubator.vector is not resolved
+
+    static ObjectiveKernels active() {
+        return Holder.active;
+    }
+
+    // returns whether the vector kernels are now in use
+    static boolean use_vector(boolean on) {
+        Holder.active = on && Holder.VECTOR != null ? Holder.VECTOR : Holder.SCALAR;
+        return Holder.active == Holder.VECTOR;
+    }
+
+    class Holder {
+        static final ObjectiveKernels SCALAR = new ScalarObjectiveKernels();
+        static final ObjectiveKernels VECTOR = load_vector();
+        static volatile ObjectiveKernels active =
+                VECTOR != null && Boolean.parseBoolean(System.getProperty("objective.simd", "true")) ? VECTOR : SCALAR;
+
+        static ObjectiveKernels load_vector() {
+            try {
+                return (ObjectiveKernels) Class.forName("VectorObjectiveKernels").getDeclaredConstructor()
+                        .newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                return null;
+            }
+        }
+    }
+}
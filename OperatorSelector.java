@@ -0,0 +1,134 @@
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+// Adaptive operator selection. Each operator keeps a sliding window of its
+// last `window` rewards (offspring improvement over the better parent);
+// its quality is the window mean. Selection probabilities follow one of
+//   matching - probability matching: p_i proportional to quality, floor p_min
+//   pursuit  - adaptive pursuit: the best operator's p moves towards p_max,
+//              every other one towards p_min, at learning rate beta
+// reward() only records; update() recomputes the probabilities, once per
+// generation. uses / total reward / quality / probability are kept per
+// operator for reporting. Serializable so GACheckpoint can capture it.
+public class OperatorSelector implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    static final int WINDOW = 50;
+    static final double P_MIN = 0.05;
+    static final double BETA = 0.3;
+
+    final String[] names;
+    final String policy;
+    final int window;
+    final double p_min, p_max, beta;
+
+    final double[][] rewards; // ring buffer per operator
+    final int[] count, head;
+    final double[] window_sum, quality, prob;
+    final long[] uses;
+    final double[] total_reward;
+
+    OperatorSelector(String[] names, String policy, int window, double p_min, double beta) {
+        if (!policy.equals("matching") && !policy.equals("pursuit"))
+            throw new IllegalArgumentException("Unknown policy: " + policy);
+        if (p_min * names.length >= 1)
+            throw new IllegalArgumentException("p_min must be < 1 / operators");
+        int k = names.length;
+        this.names = names;
+        this.policy = policy;
+        this.window = window;
+        this.p_min = p_min;
+        this.p_max = 1 - (k - 1) * p_min;
+        this.beta = beta;
+        rewards = new double[k][window];
+        count = new int[k];
+        head = new int[k];
+        window_sum = new double[k];
+        quality = new double[k];
+        prob = new double[k];
+        uses = new long[k];
+        total_reward = new double[k];
+        Arrays.fill(prob, 1.0 / k);
+    }
+
+    OperatorSelector(String[] names, String policy) {
+        this(names, policy, WINDOW, P_MIN, BETA);
+    }
+
+    int select(RandomGenerator rng) {
+        double u = rng.nextDouble();
+        int last = names.length - 1;
+        for (int i = 0; i < last; i++) {
+            u -= prob[i];
+            if (u < 0) {
+                uses[i]++;
+                return i;
+            }
+        }
+        uses[last]++;
+        return last;
+    }
+
+    void reward(int op, double r) {
+        double[] ring = rewards[op];
+        if (count[op] == window)
+            window_sum[op] -= ring[head[op]];
+        else
+            count[op]++;
+        ring[head[op]] = r;
+        head[op] = (head[op] + 1) % window;
+        window_sum[op] += r;
+        total_reward[op] += r;
+    }
+
+    void update() {
+        int k = names.length, best = 0;
+        double sum = 0;
+        for (int i = 0; i < k; i++) {
+            quality[i] = count[i] > 0 ? window_sum[i] / count[i] : 0;
+            sum += quality[i];
+            if (quality[i] > quality[best])
+                best = i;
+        }
+        if (sum <= 0)
+            return; // no evidence yet: keep the current probabilities
+        for (int i = 0; i < k; i++) {
+            if (policy.equals("matching"))
+                prob[i] = p_min + (1 - k * p_min) * quality[i] / sum;
+            else
+                prob[i] += beta * ((i == best ? p_max : p_min) - prob[i]);
+        }
+    }
+
+    String report() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < names.length; i++) {
+            sb.append(String.format("  %-12s uses = %7d, reward = %9.1f, quality = %.4f, p = %.3f%n", names[i],
+                    uses[i], total_reward[i], quality[i], prob[i]));
+        }
+        return sb.toString();
+    }
+
+    // MAIN: generations to the all-ones target, fixed operators vs both adaptive policies
+    public static void main(String[] args) {
+        int length = 512, seeds = 10;
+        String[][] runs = { { GA.crossover_type, GA.mutation_type, "pursuit" },
+                { "adaptive", "adaptive", "matching" }, { "adaptive", "adaptive", "pursuit" } };
+        for (String[] run : runs) {
+            GAConfig config = new GAConfig(100, length, "tournament", run[0], run[1], 1.0 / length, 2, run[2]);
+            double gens = 0;
+            GenerationalGA ga = null;
+            for (int s = 0; s < seeds; s++) {
+                ga = new GenerationalGA(config, GA::fitness_function, null, new RngService(42).stream(s));
+                ga.initialize();
+                ga.run(new Termination(false).max_iterations(5000).target(length));
+                gens += ga.generation;
+            }
+            System.out.printf("%s: %.1f generations to target on average%n", config, gens / seeds);
+            if (ga.crossover_ops != null)
+                System.out.print(ga.crossover_ops.report() + ga.mutation_ops.report());
+        }
+    }
+}
@@ -0,0 +1,40 @@
+// Immutable settings for PSOSolver: swarm shape, coefficients, bounds and
+// stopping rules. One config can back any number of solvers.
+public class PSOConfig {
+
+    final int particles;
+    final int dims;
+    final double lower, upper;
+    final double w, c1, c2;
+    final int max_iterations;
+    final double target;           // NaN: off
+    final int stagnation_window;   // 0: off
+    final double min_diversity;    // 0: off
+
+    PSOConfig(int particles, int dims, double lower, double upper, double w, double c1, double c2,
+            int max_iterations, double target, int stagnation_window, double min_diversity) {
+        if (particles < 1 || dims < 1)
+            throw new IllegalArgumentException("particles and dims must be >= 1");
+        if (!(lower < upper))
+            throw new IllegalArgumentException("lower must be below upper");
+        if (max_iterations < 1)
+            throw new IllegalArgumentException("max_iterations must be >= 1");
+        this.particles = particles;
+        this.dims = dims;
+        this.lower = lower;
+        this.upper = upper;
+        this.w = w;
+        this.c1 = c1;
+        this.c2 = c2;
+        this.max_iterations = max_iterations;
+        this.target = target;
+        this.stagnation_window = stagnation_window;
+        this.min_diversity = min_diversity;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("n=%d dims=%d [%s, %s] w=%s c1=%s c2=%s iterations=%d", particles, dims, lower, upper,
+                w, c1, c2, max_iterations);
+    }
+}
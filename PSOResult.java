@@ -0,0 +1,20 @@
+// Outcome of one PSOSolver.solve. Callers that solve in a loop can pass the
+// same instance every time; it is overwritten, never reallocated.
+public class PSOResult {
+
+    final double[] best_position;
+    double best_score;
+    int iterations;
+    long evaluations;
+    Termination.StopReason reason;
+
+    PSOResult(int dims) {
+        best_position = new double[dims];
+    }
+
+    @Override
+    public String toString() {
+        return String.format("f = %.6g after %d iterations, %d evaluations (%s)", best_score, iterations,
+                evaluations, reason);
+    }
+}
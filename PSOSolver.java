@@ -0,0 +1,190 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Reusable gbest PSO (minimization) for services that solve many small,
+// independent problems. Everything a run needs (the flat Swarm, its RNG,
+// the Termination) is allocated once per solver and reset by solve(), so
+// back-to-back solves allocate nothing when the caller reuses a PSOResult.
+// A solver is thread-confined: use it from one thread at a time. Pool hands
+// warm solvers to concurrent callers through an ArrayBlockingQueue.
+// solve(f, seed) is deterministic: same config, objective and seed, same result.
+public class PSOSolver {
+
+    // CONFIGURATION (demo)
+    static final int PROBLEMS = 20_000;
+    static final int THREADS = 8;
+    static final PSOConfig ROSENBROCK_2D =
+            new PSOConfig(20, 2, -5, 5, 0.75, 1.5, 2.0, 100, 1e-10, 50, 1e-9);
+
+    final PSOConfig config;
+    final Swarm swarm;
+    final RngStream rng = new RngStream(0);
+    final Termination termination;
+
+    PSOSolver(PSOConfig config) {
+        this.config = config;
+        this.swarm = new Swarm(config.particles, config.dims);
+        this.termination = new Termination(true).max_iterations(config.max_iterations).target(config.target)
+                .stagnation(config.stagnation_window, 0).min_diversity(config.min_diversity);
+    }
+
+    // ---------- SOLVE ----------
+    PSOResult solve(BatchObjective f, long seed) {
+        PSOResult result = new PSOResult(config.dims);
+        solve(f, seed, result);
+        return result;
+    }
+
+    PSOResult solve(Objective f, long seed) {
+        PSOResult result = new PSOResult(config.dims);
+        solve(f, seed, result);
+        return result;
+    }
+
+    void solve(BatchObjective f, long seed, PSOResult out) {
+        run(f, null, seed, out);
+    }
+
+    void solve(Objective f, long seed, PSOResult out) {
+        run(null, f, seed, out);
+    }
+
+    // exactly one of batch / objective is set
+    void run(BatchObjective batch, Objective objective, long seed, PSOResult out) {
+        PSOConfig c = config;
+        rng.reseed(seed);
+        swarm.initialize(c.lower, c.upper, ParallelPSO.VELOCITY_FRACTION * (c.upper - c.lower), rng);
+        termination.start();
+        long evaluations = 0;
+        while (true) {
+            int best = batch != null ? swarm.evaluate(batch, 0, swarm.n) : swarm.evaluate(objective, 0, swarm.n);
+            swarm.offer_global(best);
+            evaluations += swarm.n;
+            double diversity = termination.needs_diversity() ? swarm.diversity() : Double.NaN;
+            if (termination.should_stop(swarm.gbest_score, diversity, evaluations))
+                break;
+            swarm.move(0, swarm.n, c.w, c.c1, c.c2, c.lower, c.upper, rng);
+        }
+        System.arraycopy(swarm.gbest, 0, out.best_position, 0, c.dims);
+        out.best_score = swarm.gbest_score;
+        out.iterations = termination.iterations;
+        out.evaluations = evaluations;
+        out.reason = termination.reason;
+    }
+
+    // ---------- POOL ----------
+    // fixed set of warm solvers for one config; a caller blocks while all are busy
+    static class Pool {
+        final PSOConfig config;
+        final ArrayBlockingQueue<PSOSolver> idle;
+
+        Pool(PSOConfig config, int size) {
+            if (size < 1)
+                throw new IllegalArgumentException("size must be >= 1");
+            this.config = config;
+            idle = new ArrayBlockingQueue<>(size);
+            for (int i = 0; i < size; i++)
+                idle.add(new PSOSolver(config));
+        }
+
+        PSOResult solve(BatchObjective f, long seed) {
+            PSOResult result = new PSOResult(config.dims);
+            solve(f, seed, result);
+            return result;
+        }
+
+        void solve(BatchObjective f, long seed, PSOResult out) {
+            PSOSolver solver = acquire();
+            try {
+                solver.solve(f, seed, out);
+            } finally {
+                idle.add(solver);
+            }
+        }
+
+        void solve(Objective f, long seed, PSOResult out) {
+            PSOSolver solver = acquire();
+            try {
+                solver.solve(f, seed, out);
+            } finally {
+                idle.add(solver);
+            }
+        }
+
+        PSOSolver acquire() {
+            try {
+                return idle.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted waiting for a solver", e);
+            }
+        }
+    }
+
+    // MAIN: PROBLEMS shifted 2-D Rosenbrock problems (minimum 0 at (1 + s0, 1 + s1))
+    // on THREADS threads, a fresh solver per problem vs a pool of warm solvers
+    public static void main(String[] args) {
+        double[][] shifts = new double[PROBLEMS][2];
+        RngStream rng = new RngService(42).stream("problems");
+        for (double[] s : shifts) {
+            s[0] = -1 + 2 * rng.nextDouble();
+            s[1] = -1 + 2 * rng.nextDouble();
+        }
+
+        Pool pool = new Pool(ROSENBROCK_2D, THREADS);
+        for (String mode : new String[] { "fresh", "pooled", "fresh", "pooled" }) { // second round is warm
+            long start = System.nanoTime();
+            double worst = run(THREADS, shifts, (f, seed, out) -> {
+                if (mode.equals("fresh"))
+                    new PSOSolver(ROSENBROCK_2D).solve(f, seed, out);
+                else
+                    pool.solve(f, seed, out);
+            });
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("%-6s: %d problems in %.0f ms (%.0f solves/s), worst f = %.3g%n", mode, PROBLEMS,
+                    seconds * 1e3, PROBLEMS / seconds, worst);
+        }
+
+        PSOResult one = new PSOSolver(ROSENBROCK_2D).solve(BatchObjective.ROSENBROCK, 7);
+        System.out.printf("Unshifted: x = (%.6f, %.6f), %s%n", one.best_position[0], one.best_position[1], one);
+    }
+
+    interface Solve {
+        void solve(Objective f, long seed, PSOResult out);
+    }
+
+    // each thread solves a contiguous block of problems with one reused result; returns the worst best score
+    static double run(int threads, double[][] shifts, Solve solve) {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<Double>> blocks = new ArrayList<>();
+        int per = (shifts.length + threads - 1) / threads;
+        for (int t = 0; t < threads; t++) {
+            int from = t * per, to = Math.min(shifts.length, from + per);
+            blocks.add(executor.submit(() -> {
+                PSOResult out = new PSOResult(2);
+                double worst = 0;
+                for (int p = from; p < to; p++) {
+                    double s0 = shifts[p][0], s1 = shifts[p][1];
+                    solve.solve(x -> {
+                        double x1 = x[0] - s0, x2 = x[1] - s1;
+                        double a = x2 - x1 * x1, b = 1 - x1;
+                        return 100 * a * a + b * b;
+                    }, p, out);
+                    worst = Math.max(worst, out.best_score);
+                }
+                return worst;
+            }));
+        }
+        executor.shutdown();
+        double worst = 0;
+        for (Future<Double> f : blocks) {
+            ParallelEvaluator.await(f);
+            worst = Math.max(worst, f.resultNow());
+        }
+        return worst;
+    }
+}
@@ -1,4 +1,4 @@
-import java.util.Random;
+import java.util.random.RandomGenerator;
 public class PSO_Rosenbrock_Framework {
     static int N = 20;            
     static int dimensions = 2;   
@@ -7,74 +7,30 @@ public class PSO_Rosenbrock_Framework {
     static double c1 = 1.5;     
     static double c2 = 2.0;     
     static double minBound = -5, maxBound = 5;
+    static double target = 1e-10;       // stop once f(gbest) gets here
+    static int stagnationWindow = 50;   // or after this many iterations without a better gbest
+    static double minDiversity = 1e-9;  // or when the swarm has collapsed to a point
 
-    static Random rand = new Random();
+    static RandomGenerator rand = RngService.global().stream("PSO_Rosenbrock_Framework");
 
     public static double rosenbrock(double[] x) {
         double x1 = x[0], x2 = x[1];
-        return 100 * Math.pow((x2 - x1 * x1), 2) + Math.pow((1 - x1), 2);
+        double a = x2 - x1 * x1, b = 1 - x1;
+        return 100 * a * a + b * b;
     }
 
     public static void main(String[] args) {
-        double[][] x = new double[N][dimensions];
-        double[][] v = new double[N][dimensions];
-        double[][] pbest = new double[N][dimensions];
-        double[] pbestScore = new double[N];
-        double[] gbest = new double[dimensions];
-        double gbestScore = Double.MAX_VALUE;
-
-    
-
-        // Randomly initialize x, v, pbest, gbest
-        for (int i = 0; i < N; i++) {
-            for (int d = 0; d < dimensions; d++) {
-                x[i][d] = minBound + (maxBound - minBound) * rand.nextDouble();
-                v[i][d] = -1 + 2 * rand.nextDouble();
-                pbest[i][d] = x[i][d];
-            }
-            pbestScore[i] = rosenbrock(x[i]);
-            if (pbestScore[i] < gbestScore) {
-                gbestScore = pbestScore[i];
-                gbest = pbest[i].clone();
-            }
-        }
-
-        int t = 1;
-        while (t <= T) {
-           //update pbest and gbest
-            for (int i = 0; i < N; i++) {
-                double fitness = rosenbrock(x[i]);
-                if (fitness < pbestScore[i]) {
-                    pbestScore[i] = fitness;
-                    pbest[i] = x[i].clone();
-                }
-                if (fitness < gbestScore) {
-                    gbestScore = fitness;
-                    gbest = x[i].clone();
-                }
-            }
-            //update velocity and position
-            for (int i = 0; i < N; i++) {
-                for (int d = 0; d < dimensions; d++) {
-                    double r1 = rand.nextDouble();
-                    double r2 = rand.nextDouble();
-
-                    v[i][d] = w * v[i][d]
-                            + c1 * r1 * (pbest[i][d] - x[i][d])
-                            + c2 * r2 * (gbest[d] - x[i][d]);
-                    
-                    x[i][d] += v[i][d];
-
-                    if (x[i][d] < minBound) x[i][d] = minBound;
-                    if (x[i][d] > maxBound) x[i][d] = maxBound;
-                }
-            }
-            t++;
-        }
+        RngService.print_global_seed();
+        // the statics only seed an immutable config; PSOSolver owns the flat swarm and reuses it
+        PSOConfig config = new PSOConfig(N, dimensions, minBound, maxBound, w, c1, c2, T, target, stagnationWindow,
+                minDiversity);
+        PSOSolver solver = new PSOSolver(config);
+        PSOResult result = solver.solve(BatchObjective.ROSENBROCK, rand.nextLong());
 
         System.out.println("\nOptimal Solution Found:");
-        System.out.printf("x1 = %.6f, x2 = %.6f%n", gbest[0], gbest[1]);
-        System.out.printf("f(x) = %.6f%n", gbestScore);
+        System.out.printf("x1 = %.6f, x2 = %.6f%n", result.best_position[0], result.best_position[1]);
+        System.out.printf("f(x) = %.6f%n", result.best_score);
+        System.out.println(solver.termination.report());
     }
 }
 
@@ -0,0 +1,252 @@
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+public class PackedGenome {
+
+    // gene i lives in bit (i & 63) of words[i >>> 6]; bits past `length` are always 0
+    final long[] words;
+    final int length;
+
+    PackedGenome(int length) {
+        this.length = length;
+        this.words = new long[(length + 63) >>> 6];
+    }
+
+    // ---------- CREATION ----------
+    static PackedGenome random_genome(int length, RandomGenerator rng) {
+        PackedGenome g = new PackedGenome(length);
+        for (int w = 0; w < g.words.length; w++)
+            g.words[w] = rng.nextLong();
+        g.clear_tail();
+        return g;
+    }
+
+    static PackedGenome from_string(String chrom) {
+        PackedGenome g = new PackedGenome(chrom.length());
+        for (int i = 0; i < chrom.length(); i++) {
+            if (chrom.charAt(i) == '1')
+                g.words[i >>> 6] |= 1L << i;
+        }
+        return g;
+    }
+
+    PackedGenome copy() {
+        PackedGenome g = new PackedGenome(length);
+        System.arraycopy(words, 0, g.words, 0, words.length);
+        return g;
+    }
+
+    void copy_from(PackedGenome other) {
+        System.arraycopy(other.words, 0, words, 0, words.length);
+    }
+
+    // ---------- GENE ACCESS ----------
+    boolean get(int i) {
+        return (words[i >>> 6] & (1L << i)) != 0;
+    }
+
+    void set(int i, boolean value) {
+        if (value)
+            words[i >>> 6] |= 1L << i;
+        else
+            words[i >>> 6] &= ~(1L << i);
+    }
+
+    // FITNESS = number of 1s, one popcount per word
+    int count_ones() {
+        int count = 0;
+        for (long w : words)
+            count += Long.bitCount(w);
+        return count;
+    }
+
+    // ---------- CROSSOVER (children must not alias the parents) ----------
+    static void single_point_crossover(PackedGenome p1, PackedGenome p2, PackedGenome c1, PackedGenome c2,
+            RandomGenerator rng) {
+        int pt = rng.nextInt(p1.length - 1) + 1;
+        c1.copy_from(p1);
+        c2.copy_from(p2);
+        copy_range(c1, p2, pt, p1.length);
+        copy_range(c2, p1, pt, p1.length);
+    }
+
+    static void two_point_crossover(PackedGenome p1, PackedGenome p2, PackedGenome c1, PackedGenome c2,
+            RandomGenerator rng) {
+        int pt1 = rng.nextInt(p1.length - 2) + 1;
+        int pt2 = rng.nextInt(p1.length - 1 - pt1) + pt1 + 1;
+        c1.copy_from(p1);
+        c2.copy_from(p2);
+        copy_range(c1, p2, pt1, pt2);
+        copy_range(c2, p1, pt1, pt2);
+    }
+
+    // 3-point, same cut rules as GA_Selection_Crossover.multi_point_crossover
+    static void multi_point_crossover(PackedGenome p1, PackedGenome p2, PackedGenome c1, PackedGenome c2,
+            RandomGenerator rng) {
+        int len = p1.length;
+        int pt1 = rng.nextInt(len - 3) + 1;
+        int pt2 = pt1 + 1 + rng.nextInt(len - pt1 - 2);
+        int pt3 = pt2 + 1 + rng.nextInt(len - pt2 - 1);
+        c1.copy_from(p1);
+        c2.copy_from(p2);
+        copy_range(c1, p2, pt1, pt2);
+        copy_range(c2, p1, pt1, pt2);
+        copy_range(c1, p2, pt3, len);
+        copy_range(c2, p1, pt3, len);
+    }
+
+    // one random mask per word instead of one draw per gene, blended by GenomeKernels
+    static void uniform_crossover(PackedGenome p1, PackedGenome p2, PackedGenome c1, PackedGenome c2,
+            RandomGenerator rng) {
+        int n = p1.words.length;
+        long[] mask = Scratch.get().masks(n);
+        for (int w = 0; w < n; w++)
+            mask[w] = rng.nextLong();
+        GenomeKernels.active().blend(p1.words, p2.words, mask, c1.words, c2.words, n);
+    }
+
+    // ---------- MUTATION (in place) ----------
+    // below this rate the flipped positions are drawn as geometric gaps
+    // (about rate * length draws); above it whole masks are built in bulk
+    static final double SPARSE_RATE = 1.0 / 16;
+
+    void bit_flip_mutation(double rate, RandomGenerator rng) {
+        if (rate <= 0)
+            return;
+        if (rate < SPARSE_RATE) {
+            gap_flip(rate, rng);
+            return;
+        }
+        int n = words.length;
+        Scratch scratch = Scratch.get();
+        double[] u = scratch.uniforms(n << 6);
+        RngService.fill(rng, u, 0, n << 6);
+        long[] mask = scratch.masks(n);
+        GenomeKernels kernels = GenomeKernels.active();
+        kernels.bernoulli_masks(u, rate, mask, n);
+        kernels.xor(words, mask, n);
+        clear_tail();
+    }
+
+    // skip ~ Geometric(rate) between consecutive flipped genes
+    void gap_flip(double rate, RandomGenerator rng) {
+        double log_q = Math.log1p(-rate);
+        long i = (long) (Math.log(1.0 - rng.nextDouble()) / log_q);
+        while (i < length) {
+            words[(int) i >>> 6] ^= 1L << i;
+            i += 1 + (long) (Math.log(1.0 - rng.nextDouble()) / log_q);
+        }
+    }
+
+    void swap_mutation(RandomGenerator rng) {
+        int i = rng.nextInt(length);
+        int j = rng.nextInt(length);
+        boolean gi = get(i);
+        set(i, get(j));
+        set(j, gi);
+    }
+
+    // ---------- WRAPPERS (same option names as GA.crossover_method / mutation_method) ----------
+    static void crossover(String method, PackedGenome p1, PackedGenome p2, PackedGenome c1, PackedGenome c2,
+            RandomGenerator rng) {
+        switch (method) {
+            case "single_point":
+                single_point_crossover(p1, p2, c1, c2, rng);
+                break;
+            case "two_point":
+                two_point_crossover(p1, p2, c1, c2, rng);
+                break;
+            case "multi_point":
+                multi_point_crossover(p1, p2, c1, c2, rng);
+                break;
+            case "uniform":
+                uniform_crossover(p1, p2, c1, c2, rng);
+                break;
+            default:
+                c1.copy_from(p1);
+                c2.copy_from(p2);
+        }
+    }
+
+    void mutate(String method, double rate, RandomGenerator rng) {
+        switch (method) {
+            case "bit_flip":
+                bit_flip_mutation(rate, rng);
+                break;
+            case "swap":
+                swap_mutation(rng);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown mutation method: " + method);
+        }
+    }
+
+    // ---------- HELPERS ----------
+    // dst[from, to) = src[from, to), whole words in the middle
+    static void copy_range(PackedGenome dst, PackedGenome src, int from, int to) {
+        if (from >= to)
+            return;
+        int w0 = from >>> 6, w1 = (to - 1) >>> 6;
+        long first = -1L << from;
+        long last = -1L >>> (63 - ((to - 1) & 63));
+        if (w0 == w1) {
+            long m = first & last;
+            dst.words[w0] = (dst.words[w0] & ~m) | (src.words[w0] & m);
+            return;
+        }
+        dst.words[w0] = (dst.words[w0] & ~first) | (src.words[w0] & first);
+        System.arraycopy(src.words, w0 + 1, dst.words, w0 + 1, w1 - w0 - 1);
+        dst.words[w1] = (dst.words[w1] & ~last) | (src.words[w1] & last);
+    }
+
+    void clear_tail() {
+        int used = length & 63;
+        if (used != 0)
+            words[words.length - 1] &= -1L >>> (64 - used);
+    }
+
+    // per-thread mask/uniform buffers so the kernels never allocate in steady state
+    static class Scratch {
+        static final ThreadLocal<Scratch> LOCAL = ThreadLocal.withInitial(Scratch::new);
+
+        long[] masks = new long[0];
+        double[] uniforms = new double[0];
+
+        static Scratch get() {
+            return LOCAL.get();
+        }
+
+        long[] masks(int n) {
+            if (masks.length < n)
+                masks = new long[n];
+            return masks;
+        }
+
+        double[] uniforms(int n) {
+            if (uniforms.length < n)
+                uniforms = new double[n];
+            return uniforms;
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof PackedGenome))
+            return false;
+        PackedGenome other = (PackedGenome) o;
+        return length == other.length && Arrays.equals(words, other.words);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * length + Arrays.hashCode(words);
+    }
+
+    @Override
+    public String toString() {
+        char[] ch = new char[length];
+        for (int i = 0; i < length; i++)
+            ch[i] = get(i) ? '1' : '0';
+        return new String(ch);
+    }
+}
@@ -0,0 +1,108 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntFunction;
+
+// Evaluates a whole population into a preallocated double[] in chunks.
+// Each slot out[i] is written by exactly one task and fitness functions are
+// pure, so the result is identical to a sequential loop for any seed.
+public class ParallelEvaluator {
+
+    final ExecutorService executor;
+    final int chunk_size;
+
+    // chunks run on the common ForkJoin pool
+    ParallelEvaluator(int chunk_size) {
+        this(ForkJoinPool.commonPool(), chunk_size);
+    }
+
+    ParallelEvaluator(ExecutorService executor, int chunk_size) {
+        if (chunk_size < 1)
+            throw new IllegalArgumentException("chunk_size must be >= 1");
+        this.executor = executor;
+        this.chunk_size = chunk_size;
+    }
+
+    <G> void evaluate(List<G> pop, FitnessFunction<? super G> f, double[] out) {
+        run(pop::get, 0, pop.size(), f, out);
+    }
+
+    <G> void evaluate(G[] pop, int n, FitnessFunction<? super G> f, double[] out) {
+        run(i -> pop[i], 0, n, f, out);
+    }
+
+    // only [from, to), e.g. to skip elites whose fitness is already known
+    <G> void evaluate(G[] pop, int from, int to, FitnessFunction<? super G> f, double[] out) {
+        run(i -> pop[i], from, to, f, out);
+    }
+
+    // ---------- HELPERS ----------
+    <G> void run(IntFunction<G> get, int from, int to, FitnessFunction<? super G> f, double[] out) {
+        if (to - from <= chunk_size) {
+            evaluate_range(get, f, out, from, to);
+        } else if (executor instanceof ForkJoinPool) {
+            ((ForkJoinPool) executor).invoke(new Chunk<G>(get, f, out, from, to));
+        } else {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int start = from; start < to; start += chunk_size) {
+                int lo = start, hi = Math.min(to, start + chunk_size);
+                futures.add(executor.submit(() -> evaluate_range(get, f, out, lo, hi)));
+            }
+            for (Future<?> fu : futures)
+                await(fu);
+        }
+    }
+
+    static <G> void evaluate_range(IntFunction<G> get, FitnessFunction<? super G> f, double[] out, int from, int to) {
+        for (int i = from; i < to; i++)
+            out[i] = f.evaluate(get.apply(i));
+    }
+
+    static void await(Future<?> fu) {
+        try {
+            fu.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Fitness evaluation interrupted", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException)
+                throw (RuntimeException) cause;
+            if (cause instanceof Error)
+                throw (Error) cause;
+            throw new IllegalStateException("Fitness evaluation failed", cause);
+        }
+    }
+
+    // splits [from, to) in halves until a piece fits in one chunk
+    class Chunk<G> extends RecursiveAction {
+        private static final long serialVersionUID = 1L; // tasks are Serializable, but never serialized
+
+        final transient IntFunction<G> get;
+        final transient FitnessFunction<? super G> f;
+        final double[] out;
+        final int from, to;
+
+        Chunk(IntFunction<G> get, FitnessFunction<? super G> f, double[] out, int from, int to) {
+            this.get = get;
+            this.f = f;
+            this.out = out;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= chunk_size) {
+                evaluate_range(get, f, out, from, to);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new Chunk<G>(get, f, out, from, mid), new Chunk<G>(get, f, out, mid, to));
+        }
+    }
+}
@@ -0,0 +1,279 @@
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntConsumer;
+
+// N-dimensional PSO (minimization) over a flat Swarm, parallel in fixed
+// chunks of particles on a ForkJoin pool. Chunk c always covers the same
+// particles and draws from RNG stream c, so results do not depend on which
+// worker runs which chunk.
+//   sync  - evaluate every chunk, reduce gbest in chunk order, then move
+//           every chunk: two barriers per iteration, fully reproducible.
+//           The reduction only compares chunk bests; each chunk points
+//           its own particles at the new gbest snapshot before moving
+//   async - each chunk evaluates, publishes its best right away and moves
+//           with the newest gbest it can see: one barrier per iteration,
+//           but the result depends on scheduling
+// The shared gbest is an immutable GlobalBest snapshot swapped by CAS.
+//
+// With a local Topology ("ring", "von_neumann", "random", "dynamic") every
+// particle follows the best personal best in its neighbourhood instead:
+// each chunk refreshes the lbest of its own particles from the pbest
+// scores, so there is no global reduction and no shared write hotspot.
+// gbest is then only tracked for reporting. Reading neighbours' pbest
+// needs the evaluate/move barrier, so local topologies run in sync mode.
+//
+// precision "float" stores the swarm in a FloatSwarm instead of a Swarm:
+// half the memory traffic per move, scores and reported positions still double.
+public class ParallelPSO {
+
+    // CONFIGURATION (demo)
+    static final int PARTICLES = 128;
+    static final int DIMENSIONS = 1000;
+    static final int ITERATIONS = 1000;
+    static final int CHUNK_SIZE = 8;
+    static final double W = 0.72, C1 = 1.49, C2 = 1.49;
+    static final double LOWER = -5, UPPER = 5;
+    static final double VELOCITY_FRACTION = 0.1; // initial |v| <= fraction * (upper - lower)
+    static final int NEIGHBOURS = 2; // k for ring, random and dynamic; von_neumann always has 4
+
+    // immutable, so a reader never sees a half-copied position
+    static final class GlobalBest {
+        static final GlobalBest NONE = new GlobalBest(Double.POSITIVE_INFINITY, null);
+
+        final double score;
+        final double[] position;
+
+        GlobalBest(double score, double[] position) {
+            this.score = score;
+            this.position = position;
+        }
+    }
+
+    final SwarmStorage swarm;
+    final Objective objective;
+    final double w, c1, c2, lower, upper;
+    final boolean async;
+    final int chunk_size, chunks;
+    final ForkJoinPool pool;
+    final RngStream[] rngs;
+    final double[][] rows;
+    final int[] chunk_best;
+    final GlobalBest[] seen; // global best: snapshot each chunk last tiled
+    final Topology topology; // null: global best
+    final RngStream topology_rng;
+    final int[] lbest;
+    final AtomicReference<GlobalBest> global = new AtomicReference<>(GlobalBest.NONE);
+    int iteration;
+    long evaluations;
+
+    ParallelPSO(int particles, int dims, double lower, double upper, double w, double c1, double c2, String mode,
+            int chunk_size, Objective objective, ForkJoinPool pool, long seed) {
+        this(particles, dims, lower, upper, w, c1, c2, mode, "global", 0, chunk_size, objective, pool, seed);
+    }
+
+    // topology: "global" or one of the Topology kinds, with k neighbours
+    ParallelPSO(int particles, int dims, double lower, double upper, double w, double c1, double c2, String mode,
+            String topology, int k, int chunk_size, Objective objective, ForkJoinPool pool, long seed) {
+        this(particles, dims, lower, upper, w, c1, c2, mode, topology, k, "double", chunk_size, objective, pool,
+                seed);
+    }
+
+    // precision: "double" or "float"
+    ParallelPSO(int particles, int dims, double lower, double upper, double w, double c1, double c2, String mode,
+            String topology, int k, String precision, int chunk_size, Objective objective, ForkJoinPool pool,
+            long seed) {
+        if (!mode.equals("sync") && !mode.equals("async"))
+            throw new IllegalArgumentException("Unknown gbest mode: " + mode);
+        if (mode.equals("async") && !topology.equals("global"))
+            throw new IllegalArgumentException("Local topologies need sync mode");
+        if (chunk_size < 1)
+            throw new IllegalArgumentException("chunk_size must be >= 1");
+        this.swarm = SwarmStorage.of(precision, particles, dims);
+        this.objective = objective;
+        this.lower = lower;
+        this.upper = upper;
+        this.w = w;
+        this.c1 = c1;
+        this.c2 = c2;
+        this.async = mode.equals("async");
+        this.chunk_size = chunk_size;
+        this.chunks = (particles + chunk_size - 1) / chunk_size;
+        this.pool = pool != null ? pool : ForkJoinPool.commonPool();
+
+        RngService service = new RngService(seed);
+        rngs = new RngStream[chunks];
+        rows = new double[chunks][dims];
+        for (int c = 0; c < chunks; c++)
+            rngs[c] = service.stream(c);
+        chunk_best = new int[chunks];
+        seen = new GlobalBest[chunks];
+        topology_rng = service.stream("topology");
+        this.topology = topology.equals("global") ? null : new Topology(topology, particles, k, topology_rng);
+        lbest = new int[particles];
+        swarm.initialize(lower, upper, VELOCITY_FRACTION * (upper - lower), service.stream("init"));
+    }
+
+    // ---------- ITERATION ----------
+    void step() {
+        if (topology != null) {
+            pool.invoke(new Chunks(0, chunks, this::evaluate_chunk));
+            for (int c = 0; c < chunks; c++)
+                publish(chunk_best[c]);
+            topology.maybe_regroup(iteration, topology_rng);
+            pool.invoke(new Chunks(0, chunks, this::local_move_chunk));
+        } else if (async) {
+            pool.invoke(new Chunks(0, chunks, this::evaluate_publish_move));
+        } else {
+            pool.invoke(new Chunks(0, chunks, this::evaluate_chunk));
+            int best = chunk_best[0];
+            for (int c = 1; c < chunks; c++) {
+                if (swarm.pbest_score()[chunk_best[c]] < swarm.pbest_score()[best])
+                    best = chunk_best[c];
+            }
+            if (swarm.offer_global(best, false))
+                global.set(new GlobalBest(swarm.gbest_score(), swarm.gbest_copy()));
+            pool.invoke(new Chunks(0, chunks, this::global_move_chunk));
+        }
+        iteration++;
+        evaluations += swarm.n();
+    }
+
+    Termination.StopReason run(Termination termination) {
+        termination.start();
+        while (true) {
+            step();
+            double diversity = termination.needs_diversity() ? swarm.diversity() : Double.NaN;
+            if (termination.should_stop(best_score(), diversity, evaluations))
+                return termination.reason;
+        }
+    }
+
+    double best_score() {
+        return global.get().score;
+    }
+
+    double[] best_position() {
+        return global.get().position;
+    }
+
+    // ---------- CHUNK WORK ----------
+    void evaluate_chunk(int c) {
+        chunk_best[c] = swarm.evaluate(objective, from(c), to(c), rows[c]);
+    }
+
+    void move_chunk(int c) {
+        swarm.move(from(c), to(c), w, c1, c2, lower, upper, rngs[c]);
+    }
+
+    void global_move_chunk(int c) {
+        retile(c);
+        move_chunk(c);
+    }
+
+    void local_move_chunk(int c) {
+        topology.best_neighbors(swarm.pbest_score(), from(c), to(c), lbest);
+        swarm.attract_to(lbest, from(c), to(c));
+        move_chunk(c);
+    }
+
+    void evaluate_publish_move(int c) {
+        int best = swarm.evaluate(objective, from(c), to(c), rows[c]);
+        publish(best);
+        global_move_chunk(c);
+    }
+
+    // points this chunk at the newest gbest snapshot if the chunk has not seen it yet;
+    // until some score is finite there is no gbest and each particle follows its own pbest
+    void retile(int c) {
+        GlobalBest g = global.get();
+        if (g != seen[c]) {
+            if (g.position != null)
+                swarm.tile(g.position, from(c), to(c));
+            else
+                swarm.follow_own(from(c), to(c));
+            seen[c] = g;
+        }
+    }
+
+    // CAS loop: only ever replaces the snapshot with a strictly better one
+    void publish(int i) {
+        double score = swarm.pbest_score()[i];
+        double[] position = null;
+        while (true) {
+            GlobalBest current = global.get();
+            if (score >= current.score)
+                return;
+            if (position == null)
+                position = swarm.pbest_copy(i);
+            if (global.compareAndSet(current, new GlobalBest(score, position)))
+                return;
+        }
+    }
+
+    int from(int c) {
+        return c * chunk_size;
+    }
+
+    int to(int c) {
+        return Math.min(swarm.n(), (c + 1) * chunk_size);
+    }
+
+    // splits chunk indices [lo, hi) in halves down to single chunks
+    static class Chunks extends RecursiveAction {
+        private static final long serialVersionUID = 1L; // tasks are Serializable, but never serialized
+
+        final int lo, hi;
+        final transient IntConsumer work;
+
+        Chunks(int lo, int hi, IntConsumer work) {
+            this.lo = lo;
+            this.hi = hi;
+            this.work = work;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo == 1) {
+                work.accept(lo);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new Chunks(lo, mid, work), new Chunks(mid, hi, work));
+        }
+    }
+
+    static double rastrigin(double[] x) {
+        double sum = 10.0 * x.length;
+        for (double xi : x)
+            sum += xi * xi - 10.0 * Math.cos(2 * Math.PI * xi);
+        return sum;
+    }
+
+    // MAIN: N-dimensional Rosenbrock (GreyWolf.rosenbrock) in both gbest modes
+    // and in float, then multimodal Rastrigin under every topology
+    public static void main(String[] args) {
+        for (String mode : new String[] { "sync", "async" }) {
+            ParallelPSO pso = new ParallelPSO(PARTICLES, DIMENSIONS, LOWER, UPPER, W, C1, C2, mode, CHUNK_SIZE,
+                    GreyWolf::rosenbrock, null, 42);
+            Termination termination = new Termination(true).max_iterations(ITERATIONS).target(1e-6);
+            pso.run(termination);
+            System.out.printf("%s: f(gbest) = %.4f in %d dimensions, %d workers%n%s%n", mode, pso.best_score(),
+                    DIMENSIONS, pso.pool.getParallelism(), termination.report());
+        }
+        ParallelPSO single = new ParallelPSO(PARTICLES, DIMENSIONS, LOWER, UPPER, W, C1, C2, "sync", "global", 0,
+                "float", CHUNK_SIZE, GreyWolf::rosenbrock, null, 42);
+        Termination termination = new Termination(true).max_iterations(ITERATIONS).target(1e-6);
+        single.run(termination);
+        System.out.printf("sync, float: f(gbest) = %.4f in %d dimensions%n%s%n", single.best_score(), DIMENSIONS,
+                termination.report());
+        for (String topology : new String[] { "global", "ring", "von_neumann", "random", "dynamic" }) {
+            int k = topology.equals("von_neumann") ? 4 : NEIGHBOURS;
+            ParallelPSO pso = new ParallelPSO(PARTICLES, 30, -5.12, 5.12, W, C1, C2, "sync", topology, k,
+                    CHUNK_SIZE, ParallelPSO::rastrigin, null, 42);
+            pso.run(new Termination(true).max_iterations(ITERATIONS));
+            System.out.printf("Rastrigin 30-D, %-11s: f(gbest) = %.4f%n", topology, pso.best_score());
+        }
+    }
+}
@@ -0,0 +1,192 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.random.RandomGenerator;
+
+// Runs GenerationalGA over a grid (or random sample) of operator settings,
+// population sizes and mutation rates, several seeds each. Every
+// (config, seed) run is its own task on a work-stealing pool; when the last
+// seed of a config finishes, its aggregate row is appended to the CSV and
+// flushed, so a long sweep can be watched (or killed) while it runs.
+// Seed s uses stream s of the base seed for every config, so configs are
+// compared on the same random numbers.
+public class ParameterSweep {
+
+    static final String CSV_HEADER = "selection,crossover,mutation,adaptive_policy,pop_size,mutation_rate,seeds,best,mean_best,"
+            + "hits,mean_gens_to_target,mean_ms_to_target,mean_ms";
+
+    // SWEEP AXES (demo)
+    static final String[] SELECTIONS = { "canonical", "roulette", "rank", "tournament" };
+    static final String[] CROSSOVERS = { "single_point", "two_point", "uniform" };
+    static final String[] MUTATIONS = { "bit_flip", "swap" };
+    static final int[] POP_SIZES = { 50, 100 };
+    static final double[] MUTATION_RATES = { 0.5, 1.0, 2.0 }; // times 1 / CHROM_LENGTH
+    static final double[] NO_RATE = { 0 };
+    static final int CHROM_LENGTH = 64;
+    static final int GENERATIONS = 500;
+    static final int SEEDS = 5;
+    static final int ELITES = 2;
+
+    final String[] selections, crossovers, mutations;
+    final int[] pop_sizes;
+    final double[] mutation_rates;
+    final int chrom_length, generations, elites;
+    final double target;
+    final FitnessFunction<PackedGenome> fitness;
+
+    ParameterSweep(String[] selections, String[] crossovers, String[] mutations, int[] pop_sizes,
+            double[] mutation_rates, int chrom_length, int generations, int elites, double target,
+            FitnessFunction<PackedGenome> fitness) {
+        this.selections = selections;
+        this.crossovers = crossovers;
+        this.mutations = mutations;
+        this.pop_sizes = pop_sizes;
+        this.mutation_rates = mutation_rates;
+        this.chrom_length = chrom_length;
+        this.generations = generations;
+        this.elites = elites;
+        this.target = target;
+        this.fitness = fitness;
+    }
+
+    // ---------- CONFIGURATIONS ----------
+    // swap makes exactly one swap whatever the rate, so it gets a single config (rate 0)
+    List<GAConfig> grid() {
+        List<GAConfig> configs = new ArrayList<>();
+        for (String s : selections)
+            for (String c : crossovers)
+                for (String m : mutations)
+                    for (int n : pop_sizes)
+                        for (double rate : uses_rate(m) ? mutation_rates : NO_RATE)
+                            configs.add(new GAConfig(n, chrom_length, s, c, m, rate, elites));
+        return configs;
+    }
+
+    // `count` configs drawn independently from the axes
+    List<GAConfig> sample(int count, RandomGenerator rng) {
+        List<GAConfig> configs = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            int n = pop_sizes[rng.nextInt(pop_sizes.length)];
+            String s = selections[rng.nextInt(selections.length)], c = crossovers[rng.nextInt(crossovers.length)];
+            String m = mutations[rng.nextInt(mutations.length)];
+            double rate = mutation_rates[rng.nextInt(mutation_rates.length)];
+            configs.add(new GAConfig(n, chrom_length, s, c, m, uses_rate(m) ? rate : 0, elites));
+        }
+        return configs;
+    }
+
+    static boolean uses_rate(String mutation) {
+        return !mutation.equals("swap");
+    }
+
+    // ---------- RUN ----------
+    // every config x seed on `pool`; rows are written in completion order
+    void run(List<GAConfig> configs, int seeds, long base_seed, ForkJoinPool pool, Writer out) throws IOException {
+        out.write(CSV_HEADER);
+        out.write(System.lineSeparator());
+        out.flush();
+        RngService rngs = new RngService(base_seed);
+        List<Future<?>> running = new ArrayList<>();
+        for (GAConfig config : configs) {
+            Aggregate agg = new Aggregate(config, seeds);
+            for (int s = 0; s < seeds; s++) {
+                int seed = s;
+                running.add(pool.submit(() -> {
+                    run_one(config, rngs.stream(seed), agg);
+                    if (agg.remaining.decrementAndGet() == 0)
+                        write_row(out, agg);
+                }));
+            }
+        }
+        for (Future<?> f : running)
+            ParallelEvaluator.await(f);
+    }
+
+    void run_one(GAConfig config, RandomGenerator rng, Aggregate agg) {
+        GenerationalGA ga = new GenerationalGA(config, fitness, null, rng);
+        Termination termination = new Termination(false).max_iterations(generations).target(target);
+        long start = System.nanoTime();
+        ga.initialize();
+        Termination.StopReason reason = ga.best_fitness() >= target ? Termination.StopReason.TARGET_REACHED
+                : ga.run(termination);
+        long nanos = System.nanoTime() - start;
+        agg.add(ga.best_fitness(), reason == Termination.StopReason.TARGET_REACHED, ga.generation, nanos);
+    }
+
+    static void write_row(Writer out, Aggregate agg) {
+        GAConfig c = agg.config;
+        String row = String.format(Locale.ROOT, "%s,%s,%s,%s,%d,%s,%d,%s,%s,%d,%s,%s,%.3f", c.selection_type,
+                c.crossover_type, c.mutation_type, c.adaptive() ? c.adaptive_policy : "", c.pop_size, uses_rate(c.mutation_type) ? c.mutation_rate : "",
+                agg.runs, agg.best, agg.sum_best / agg.runs, agg.hits,
+                agg.hits > 0 ? String.format(Locale.ROOT, "%.3f", agg.sum_gens / agg.hits) : "",
+                agg.hits > 0 ? String.format(Locale.ROOT, "%.3f", agg.sum_hit_nanos / agg.hits / 1e6) : "",
+                agg.sum_nanos / agg.runs / 1e6);
+        synchronized (out) {
+            try {
+                out.write(row);
+                out.write(System.lineSeparator());
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    // per-config results, filled by its seed runs from different workers
+    static class Aggregate {
+        final GAConfig config;
+        final AtomicInteger remaining;
+        int runs, hits;
+        double best = Double.NEGATIVE_INFINITY, sum_best, sum_gens, sum_nanos, sum_hit_nanos;
+
+        Aggregate(GAConfig config, int seeds) {
+            this.config = config;
+            this.remaining = new AtomicInteger(seeds);
+        }
+
+        synchronized void add(double run_best, boolean hit, int gens, long nanos) {
+            runs++;
+            best = Math.max(best, run_best);
+            sum_best += run_best;
+            sum_nanos += nanos;
+            if (hit) {
+                hits++;
+                sum_gens += gens;
+                sum_hit_nanos += nanos;
+            }
+        }
+    }
+
+    // MAIN: ParameterSweep [csv file] [random sample size, default: full grid]
+    public static void main(String[] args) throws Exception {
+        RngService.print_global_seed();
+        Path file = Path.of(args.length > 0 ? args[0] : "sweep.csv");
+        double[] rates = new double[MUTATION_RATES.length];
+        for (int i = 0; i < rates.length; i++)
+            rates[i] = MUTATION_RATES[i] / CHROM_LENGTH;
+        ParameterSweep sweep = new ParameterSweep(SELECTIONS, CROSSOVERS, MUTATIONS, POP_SIZES, rates, CHROM_LENGTH,
+                GENERATIONS, ELITES, CHROM_LENGTH, GA::fitness_function);
+        List<GAConfig> configs = args.length > 1
+                ? sweep.sample(Integer.parseInt(args[1]), RngService.global().stream("sweep"))
+                : sweep.grid();
+
+        ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        long start = System.nanoTime();
+        try (BufferedWriter out = Files.newBufferedWriter(file)) {
+            sweep.run(configs, SEEDS, 42, pool, out);
+        } finally {
+            pool.shutdown();
+        }
+        System.out.printf("%d configs x %d seeds in %d ms, written to %s%n", configs.size(), SEEDS,
+                (System.nanoTime() - start) / 1_000_000, file);
+    }
+}
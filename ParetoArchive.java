@@ -0,0 +1,76 @@
+// Bounded set of mutually non-dominated genomes (higher is better). Members
+// are copies held in preallocated slots. A newcomer is rejected if a member
+// dominates or equals it, and evicts every member it dominates; when that
+// leaves the archive over capacity, the most crowded member is dropped, so
+// the extremes of the front are always kept.
+public class ParetoArchive {
+
+    final int capacity, m;
+    final PackedGenome[] genomes; // one spare slot for the newcomer
+    final double[] obj;
+    final NonDominatedSort nds = new NonDominatedSort();
+    final int[] ids;
+    final double[] dist;
+    int size;
+
+    ParetoArchive(int capacity, int m, int length) {
+        if (capacity < 2)
+            throw new IllegalArgumentException("capacity must be >= 2");
+        this.capacity = capacity;
+        this.m = m;
+        genomes = new PackedGenome[capacity + 1];
+        for (int i = 0; i <= capacity; i++)
+            genomes[i] = new PackedGenome(length);
+        obj = new double[(capacity + 1) * m];
+        ids = new int[capacity + 1];
+        dist = new double[capacity + 1];
+    }
+
+    // objectives of g are src[offset, offset + m); true if g was kept
+    boolean offer(PackedGenome g, double[] src, int offset) {
+        for (int i = 0; i < size; i++) {
+            if (NonDominatedSort.dominates(obj, i * m, src, offset, m) || same(i, src, offset))
+                return false;
+        }
+        for (int i = size - 1; i >= 0; i--) {
+            if (NonDominatedSort.dominates(src, offset, obj, i * m, m))
+                remove(i);
+        }
+        int slot = size++;
+        genomes[slot].copy_from(g);
+        System.arraycopy(src, offset, obj, slot * m, m);
+        if (size <= capacity)
+            return true;
+
+        IndexSort.identity(ids, size);
+        nds.crowding(obj, m, ids, 0, size, dist);
+        int worst = 0;
+        for (int i = 1; i < size; i++) {
+            if (dist[i] < dist[worst])
+                worst = i;
+        }
+        remove(worst);
+        return worst != slot;
+    }
+
+    // the last member moves into slot i
+    void remove(int i) {
+        int last = --size;
+        PackedGenome t = genomes[i];
+        genomes[i] = genomes[last];
+        genomes[last] = t;
+        System.arraycopy(obj, last * m, obj, i * m, m);
+    }
+
+    boolean same(int i, double[] src, int offset) {
+        for (int j = 0; j < m; j++) {
+            if (obj[i * m + j] != src[offset + j])
+                return false;
+        }
+        return true;
+    }
+
+    double objective(int i, int j) {
+        return obj[i * m + j];
+    }
+}
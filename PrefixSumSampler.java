@@ -0,0 +1,38 @@
+import java.util.random.RandomGenerator;
+
+// O(n) build, O(log n) per draw (binary search over the cumulative sums)
+public class PrefixSumSampler implements WeightedSampler {
+
+    double[] cum = new double[0];
+    int n;
+    double total;
+
+    @Override
+    public void build(double[] weights, int n) {
+        if (cum.length < n)
+            cum = new double[n];
+        this.n = n;
+        double sum = 0;
+        for (int i = 0; i < n; i++) {
+            sum += weights[i];
+            cum[i] = sum;
+        }
+        total = sum;
+    }
+
+    @Override
+    public int sample(RandomGenerator rng) {
+        if (total <= 0)
+            return rng.nextInt(n); // all weights zero: fall back to uniform
+        double r = rng.nextDouble() * total;
+        int lo = 0, hi = n - 1;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (cum[mid] > r)
+                hi = mid;
+            else
+                lo = mid + 1;
+        }
+        return lo;
+    }
+}
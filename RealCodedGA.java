@@ -0,0 +1,238 @@
+import java.util.random.RandomGenerator;
+
+// Real-coded GA for continuous minimization (the Rosenbrock workloads of
+// GreyWolf and PSO_Rosenbrock_Framework). The population is one flat
+// double[] of pop_size * dimensions values, double-buffered like
+// GenerationalGA; individual i occupies [i * dimensions, (i + 1) * dimensions).
+public class RealCodedGA {
+
+    // CONFIGURATION (demo)
+    static final int POP_SIZE = 100;
+    static final int DIMENSIONS = 10;
+    static final int GENERATIONS = 2000;
+    static final double LOWER_BOUND = -5, UPPER_BOUND = 5;
+
+    static final String crossover_type = "sbx"; // options: sbx, blx
+    static final String mutation_type = "polynomial"; // options: gaussian, polynomial
+    static final double CROSSOVER_RATE = 0.9;
+    static final double SBX_ETA = 15;        // larger = children closer to parents
+    static final double BLX_ALPHA = 0.5;
+    static final double MUTATION_ETA = 20;
+    static final double GAUSSIAN_SIGMA = 0.1; // fraction of the search range
+    static final int TOURNAMENT_SIZE = 2;
+
+    final int pop_size, dimensions, elites;
+    final double lower, upper, mutation_rate;
+    final String crossover, mutation;
+    final BatchObjective objective;
+    final RandomGenerator rng;
+
+    double[] pop, next;
+    final double[] fit, elite_fit;
+    final int[] order;
+    int generation;
+    long evaluations;
+
+    RealCodedGA(int pop_size, int dimensions, double lower, double upper, String crossover, String mutation,
+            double mutation_rate, int elites, Objective objective, RandomGenerator rng) {
+        this(pop_size, dimensions, lower, upper, crossover, mutation, mutation_rate, elites,
+                BatchObjective.of(objective), rng);
+    }
+
+    // the whole generation is scored by one objective call
+    RealCodedGA(int pop_size, int dimensions, double lower, double upper, String crossover, String mutation,
+            double mutation_rate, int elites, BatchObjective objective, RandomGenerator rng) {
+        if (elites < 0 || elites >= pop_size)
+            throw new IllegalArgumentException("elites must be in [0, pop_size)");
+        this.pop_size = pop_size;
+        this.dimensions = dimensions;
+        this.lower = lower;
+        this.upper = upper;
+        this.crossover = crossover;
+        this.mutation = mutation;
+        this.mutation_rate = mutation_rate;
+        this.elites = elites;
+        this.objective = objective;
+        this.rng = rng;
+        pop = new double[pop_size * dimensions];
+        next = new double[pop_size * dimensions];
+        fit = new double[pop_size];
+        elite_fit = new double[pop_size];
+        order = new int[pop_size];
+    }
+
+    void initialize() {
+        for (int i = 0; i < pop.length; i++)
+            pop[i] = lower + (upper - lower) * rng.nextDouble();
+        generation = 0;
+        evaluate();
+    }
+
+    void run(int generations) {
+        for (int g = 0; g < generations; g++)
+            step();
+    }
+
+    // elites copied with their fitness, so only the children are evaluated
+    void step() {
+        int d = dimensions;
+        if (elites > 0) {
+            IndexSort.identity(order, pop_size);
+            IndexSort.select(order, fit, pop_size, elites, false); // lowest value is best
+            for (int e = 0; e < elites; e++) {
+                System.arraycopy(pop, order[e] * d, next, e * d, d);
+                elite_fit[e] = fit[order[e]]; // fit still scores pop until the swap
+            }
+        }
+
+        for (int c = elites; c < pop_size; c += 2) {
+            int p1 = tournament() * d, p2 = tournament() * d;
+            int c1 = c * d;
+            int c2 = c + 1 < pop_size ? (c + 1) * d : -1; // odd count: second child dropped
+            if (rng.nextDouble() < CROSSOVER_RATE) {
+                crossover(p1, p2, c1, c2);
+            } else {
+                System.arraycopy(pop, p1, next, c1, d);
+                if (c2 >= 0)
+                    System.arraycopy(pop, p2, next, c2, d);
+            }
+            mutate(c1);
+            if (c2 >= 0)
+                mutate(c2);
+        }
+
+        double[] t = pop;
+        pop = next;
+        next = t;
+        generation++;
+        System.arraycopy(elite_fit, 0, fit, 0, elites);
+        evaluate(elites);
+    }
+
+    // ---------- SELECTION ----------
+    int tournament() {
+        int best = rng.nextInt(pop_size);
+        for (int i = 1; i < TOURNAMENT_SIZE; i++) {
+            int other = rng.nextInt(pop_size);
+            if (fit[other] < fit[best])
+                best = other;
+        }
+        return best;
+    }
+
+    // ---------- CROSSOVER (parents in pop, children in next; c2 < 0 means one child) ----------
+    void crossover(int p1, int p2, int c1, int c2) {
+        switch (crossover) {
+            case "sbx":
+                sbx_crossover(p1, p2, c1, c2);
+                break;
+            case "blx":
+                blx_crossover(p1, p2, c1, c2);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown crossover: " + crossover);
+        }
+    }
+
+    // simulated binary crossover, one spread factor per gene
+    void sbx_crossover(int p1, int p2, int c1, int c2) {
+        double exp = 1.0 / (SBX_ETA + 1);
+        for (int j = 0; j < dimensions; j++) {
+            double x1 = pop[p1 + j], x2 = pop[p2 + j];
+            double u = rng.nextDouble();
+            double beta = u <= 0.5 ? Math.pow(2 * u, exp) : Math.pow(1 / (2 * (1 - u)), exp);
+            next[c1 + j] = clamp(0.5 * ((1 + beta) * x1 + (1 - beta) * x2));
+            if (c2 >= 0)
+                next[c2 + j] = clamp(0.5 * ((1 - beta) * x1 + (1 + beta) * x2));
+        }
+    }
+
+    // blend crossover: uniform in the parents' interval widened by alpha on each side
+    void blx_crossover(int p1, int p2, int c1, int c2) {
+        for (int j = 0; j < dimensions; j++) {
+            double x1 = pop[p1 + j], x2 = pop[p2 + j];
+            double lo = Math.min(x1, x2), hi = Math.max(x1, x2);
+            double ext = BLX_ALPHA * (hi - lo);
+            lo -= ext;
+            hi += ext;
+            next[c1 + j] = clamp(lo + (hi - lo) * rng.nextDouble());
+            if (c2 >= 0)
+                next[c2 + j] = clamp(lo + (hi - lo) * rng.nextDouble());
+        }
+    }
+
+    // ---------- MUTATION (per gene with probability mutation_rate) ----------
+    void mutate(int c) {
+        double range = upper - lower;
+        double exp = 1.0 / (MUTATION_ETA + 1);
+        for (int j = c; j < c + dimensions; j++) {
+            if (rng.nextDouble() >= mutation_rate)
+                continue;
+            switch (mutation) {
+                case "gaussian":
+                    next[j] = clamp(next[j] + GAUSSIAN_SIGMA * range * rng.nextGaussian());
+                    break;
+                case "polynomial":
+                    double u = rng.nextDouble();
+                    double delta = u < 0.5 ? Math.pow(2 * u, exp) - 1 : 1 - Math.pow(2 * (1 - u), exp);
+                    next[j] = clamp(next[j] + delta * range);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown mutation: " + mutation);
+            }
+        }
+    }
+
+    // ---------- HELPERS ----------
+    void evaluate() {
+        evaluate(0);
+    }
+
+    // fitness of individuals [from, pop_size)
+    void evaluate(int from) {
+        objective.evaluate(pop, dimensions, from, pop_size, fit);
+        evaluations += pop_size - from;
+    }
+
+    double clamp(double x) {
+        return Math.max(lower, Math.min(upper, x));
+    }
+
+    int best_index() {
+        int best = 0;
+        for (int i = 1; i < pop_size; i++) {
+            if (fit[i] < fit[best])
+                best = i;
+        }
+        return best;
+    }
+
+    double best_fitness() {
+        return fit[best_index()];
+    }
+
+    double[] best_position() {
+        double[] x = new double[dimensions];
+        System.arraycopy(pop, best_index() * dimensions, x, 0, dimensions);
+        return x;
+    }
+
+    // MAIN
+    public static void main(String[] args) {
+        RealCodedGA ga = new RealCodedGA(POP_SIZE, DIMENSIONS, LOWER_BOUND, UPPER_BOUND, crossover_type,
+                mutation_type, 1.0 / DIMENSIONS, 2, BatchObjective.ROSENBROCK, new RngService(42).stream(0));
+
+        ga.initialize();
+        for (int gen = 0; gen < GENERATIONS; gen++) {
+            if (gen % 200 == 0)
+                System.out.printf("Gen %d: Best = %.6f%n", gen, ga.best_fitness());
+            ga.step();
+        }
+
+        System.out.println("\nBest solution found:");
+        for (double val : ga.best_position())
+            System.out.printf("%.6f ", val);
+        System.out.printf("%nBest fitness value (Rosenbrock): %.6f after %d evaluations%n", ga.best_fitness(),
+                ga.evaluations);
+    }
+}
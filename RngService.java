@@ -0,0 +1,72 @@
+import java.util.random.RandomGenerator;
+
+// One run seed, many independent RngStreams. A worker's stream depends
+// only on (seed, worker id), never on thread scheduling or creation order,
+// so parallel runs are reproducible. The process-wide service takes its seed
+// from -Drng.seed=<long> and otherwise picks one; the demos print it with
+// print_global_seed() so a run can be repeated.
+public class RngService {
+
+    static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    final long seed;
+
+    RngService(long seed) {
+        this.seed = seed;
+    }
+
+    static RngService global() {
+        return Global.INSTANCE;
+    }
+
+    long seed() {
+        return seed;
+    }
+
+    // first line of every demo that draws from the global service
+    static void print_global_seed() {
+        System.out.println("rng.seed = " + global().seed() + " (repeat with -Drng.seed=" + global().seed() + ")");
+    }
+
+    // stream for worker / island / particle chunk number `worker`
+    RngStream stream(int worker) {
+        return new RngStream(mix(seed ^ mix(GOLDEN_GAMMA * (worker + 1L))));
+    }
+
+    // stream for a named component, e.g. the static generator of one class
+    RngStream stream(String name) {
+        return new RngStream(mix(seed ^ mix(~(long) name.hashCode())));
+    }
+
+    // bulk uniforms in [0, 1); the state stays in registers for RngStream
+    static void fill(RandomGenerator rng, double[] out, int from, int to) {
+        if (rng instanceof RngStream) {
+            ((RngStream) rng).next_doubles(out, from, to);
+            return;
+        }
+        for (int i = from; i < to; i++)
+            out[i] = rng.nextDouble();
+    }
+
+    static void fill(RandomGenerator rng, float[] out, int from, int to) {
+        if (rng instanceof RngStream) {
+            ((RngStream) rng).next_floats(out, from, to);
+            return;
+        }
+        for (int i = from; i < to; i++)
+            out[i] = rng.nextFloat();
+    }
+
+    // SplitMix64 finalizer
+    static long mix(long z) {
+        z += GOLDEN_GAMMA;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    static class Global {
+        static final RngService INSTANCE = new RngService(
+                Long.getLong("rng.seed", mix(System.nanoTime() ^ System.currentTimeMillis())));
+    }
+}
@@ -0,0 +1,76 @@
+import java.io.Serializable;
+import java.util.random.RandomGenerator;
+
+// xoroshiro128++ stream: two longs of state, no locking, no CAS. One
+// instance per thread/worker; never share one across threads.
+// Serializable so GACheckpoint can capture and restore it exactly.
+public class RngStream implements RandomGenerator, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    long s0, s1;
+
+    // the seed is expanded with SplitMix64, so any long (including 0) is fine
+    RngStream(long seed) {
+        reseed(seed);
+    }
+
+    // same state as new RngStream(seed), for generators owned by reusable solvers
+    void reseed(long seed) {
+        s0 = RngService.mix(seed);
+        s1 = RngService.mix(seed + RngService.GOLDEN_GAMMA);
+        if ((s0 | s1) == 0)
+            s1 = 1; // the all-zero state is the generator's only fixed point
+    }
+
+    @Override
+    public long nextLong() {
+        long a = s0, b = s1;
+        long result = Long.rotateLeft(a + b, 17) + a;
+        b ^= a;
+        s0 = Long.rotateLeft(a, 49) ^ b ^ (b << 21);
+        s1 = Long.rotateLeft(b, 28);
+        return result;
+    }
+
+    @Override
+    public int nextInt() {
+        return (int) (nextLong() >>> 32);
+    }
+
+    @Override
+    public double nextDouble() {
+        return (nextLong() >>> 11) * 0x1.0p-53;
+    }
+
+    // independent child stream, e.g. for a sub-task of this worker
+    RngStream split() {
+        return new RngStream(nextLong());
+    }
+
+    void next_doubles(double[] out, int from, int to) {
+        long a = s0, b = s1;
+        for (int i = from; i < to; i++) {
+            long result = Long.rotateLeft(a + b, 17) + a;
+            b ^= a;
+            a = Long.rotateLeft(a, 49) ^ b ^ (b << 21);
+            b = Long.rotateLeft(b, 28);
+            out[i] = (result >>> 11) * 0x1.0p-53;
+        }
+        s0 = a;
+        s1 = b;
+    }
+
+    void next_floats(float[] out, int from, int to) {
+        long a = s0, b = s1;
+        for (int i = from; i < to; i++) {
+            long result = Long.rotateLeft(a + b, 17) + a;
+            b ^= a;
+            a = Long.rotateLeft(a, 49) ^ b ^ (b << 21);
+            b = Long.rotateLeft(b, 28);
+            out[i] = (result >>> 40) * 0x1.0p-24f;
+        }
+        s0 = a;
+        s1 = b;
+    }
+}
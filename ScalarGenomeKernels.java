@@ -0,0 +1,30 @@
+public class ScalarGenomeKernels implements GenomeKernels {
+
+    @Override
+    public void blend(long[] a, long[] b, long[] mask, long[] c1, long[] c2, int n) {
+        for (int i = 0; i < n; i++) {
+            long m = mask[i], x = a[i], y = b[i];
+            c1[i] = (x & m) | (y & ~m);
+            c2[i] = (y & m) | (x & ~m);
+        }
+    }
+
+    @Override
+    public void bernoulli_masks(double[] u, double rate, long[] masks, int n) {
+        for (int w = 0; w < n; w++) {
+            long m = 0;
+            int base = w << 6;
+            for (int j = 0; j < 64; j++) {
+                if (u[base + j] < rate)
+                    m |= 1L << j;
+            }
+            masks[w] = m;
+        }
+    }
+
+    @Override
+    public void xor(long[] words, long[] mask, int n) {
+        for (int i = 0; i < n; i++)
+            words[i] ^= mask[i];
+    }
+}
@@ -0,0 +1,54 @@
+public class ScalarObjectiveKernels implements ObjectiveKernels {
+
+    @Override
+    public void rosenbrock(double[] x, int dims, int from, int to, double[] out) {
+        for (int i = from; i < to; i++) {
+            int base = i * dims;
+            double sum = 0;
+            for (int j = base; j < base + dims - 1; j++) {
+                double a = x[j + 1] - x[j] * x[j], b = x[j] - 1;
+                sum += 100 * a * a + b * b;
+            }
+            out[i] = sum;
+        }
+    }
+
+    @Override
+    public void rastrigin(double[] x, int dims, int from, int to, double[] out) {
+        for (int i = from; i < to; i++) {
+            int base = i * dims;
+            double sum = 10.0 * dims;
+            for (int j = base; j < base + dims; j++)
+                sum += x[j] * x[j] - 10.0 * Math.cos(2 * Math.PI * x[j]);
+            out[i] = sum;
+        }
+    }
+
+    @Override
+    public void sphere(double[] x, int dims, int from, int to, double[] out) {
+        for (int i = from; i < to; i++) {
+            int base = i * dims;
+            double sum = 0;
+            for (int j = base; j < base + dims; j++)
+                sum += x[j] * x[j];
+            out[i] = sum;
+        }
+    }
+
+    @Override
+    public void ackley(double[] x, int dims, int from, int to, double[] out) {
+        for (int i = from; i < to; i++) {
+            int base = i * dims;
+            double sq = 0, cos = 0;
+            for (int j = base; j < base + dims; j++) {
+                sq += x[j] * x[j];
+                cos += Math.cos(2 * Math.PI * x[j]);
+            }
+            out[i] = ackley(sq, cos, dims);
+        }
+    }
+
+    static double ackley(double sq, double cos, int dims) {
+        return -20 * Math.exp(-0.2 * Math.sqrt(sq / dims)) - Math.exp(cos / dims) + 20 + Math.E;
+    }
+}
@@ -0,0 +1,24 @@
+public class ScalarSwarmKernels implements SwarmKernels {
+
+    @Override
+    public void move(double[] x, double[] v, double[] p, int at, double[] g, int g_at, double[] r1, double[] r2,
+            int r_at, int dims, double w, double c1, double c2, double lower, double upper) {
+        for (int j = 0; j < dims; j++) {
+            int k = at + j;
+            double vk = w * v[k] + c1 * r1[r_at + j] * (p[k] - x[k]) + c2 * r2[r_at + j] * (g[g_at + j] - x[k]);
+            v[k] = vk;
+            x[k] = Math.max(lower, Math.min(upper, x[k] + vk));
+        }
+    }
+
+    @Override
+    public void move(float[] x, float[] v, float[] p, int at, float[] g, int g_at, float[] r1, float[] r2,
+            int r_at, int dims, float w, float c1, float c2, float lower, float upper) {
+        for (int j = 0; j < dims; j++) {
+            int k = at + j;
+            float vk = w * v[k] + c1 * r1[r_at + j] * (p[k] - x[k]) + c2 * r2[r_at + j] * (g[g_at + j] - x[k]);
+            v[k] = vk;
+            x[k] = Math.max(lower, Math.min(upper, x[k] + vk));
+        }
+    }
+}
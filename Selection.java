@@ -0,0 +1,123 @@
+import java.util.random.RandomGenerator;
+
+// Index-based selection over a primitive fitness array (higher is better).
+// Every method writes k population indices into out[0, k). The scratch
+// buffers live on the instance, so one Selection per engine/thread makes
+// repeated generations allocation-free once the buffers have grown.
+public class Selection {
+
+    // above this many picks per generation the O(1) alias draw pays for its heavier build
+    static final int ALIAS_THRESHOLD = 32;
+
+    int tournament_size = 3;
+
+    final PrefixSumSampler prefix = new PrefixSumSampler();
+    final AliasSampler alias = new AliasSampler();
+    double[] weights = new double[0];
+    int[] order = new int[0];
+
+    // ---------- DISPATCH (same names as GA.select_method) ----------
+    void select(String method, double[] fit, int n, int k, RandomGenerator rng, int[] out) {
+        switch (method) {
+            case "canonical":
+                canonical_selection(fit, n, k, rng, out);
+                break;
+            case "roulette":
+                roulette_wheel_selection(fit, n, k, rng, out);
+                break;
+            case "rank":
+                rank_based_selection(fit, n, k, rng, out);
+                break;
+            case "tournament":
+                tournament_selection(fit, n, k, tournament_size, rng, out);
+                break;
+            case "steady":
+                steady_state_selection(fit, n, k, out);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown selection method: " + method);
+        }
+    }
+
+    // ---------- SELECTION METHODS ----------
+    void canonical_selection(double[] fit, int n, int k, RandomGenerator rng, int[] out) {
+        double sum = 0;
+        for (int i = 0; i < n; i++)
+            sum += fit[i];
+        double avg_fit = n > 0 ? sum / n : 1.0;
+        double[] w = weights(n);
+        for (int i = 0; i < n; i++)
+            w[i] = fit[i] / avg_fit;
+        sample(w, n, k, rng, out);
+    }
+
+    void roulette_wheel_selection(double[] fit, int n, int k, RandomGenerator rng, int[] out) {
+        sample(fit, n, k, rng, out);
+    }
+
+    void rank_based_selection(double[] fit, int n, int k, RandomGenerator rng, int[] out) {
+        int[] idx = order(n);
+        IndexSort.identity(idx, n);
+        IndexSort.sort(idx, fit, n, false);
+        double[] w = weights(n);
+        for (int r = 0; r < n; r++)
+            w[idx[r]] = r + 1; // worst gets rank 1
+        sample(w, n, k, rng, out);
+    }
+
+    // t_size distinct competitors per pick, best one wins
+    void tournament_selection(double[] fit, int n, int k, int t_size, RandomGenerator rng, int[] out) {
+        int t = Math.min(t_size, n);
+        int[] picked = order(t);
+        for (int s = 0; s < k; s++) {
+            int best = -1;
+            for (int c = 0; c < t; c++) {
+                int idx = draw_distinct(picked, c, n, rng);
+                if (best < 0 || fit[idx] > fit[best])
+                    best = idx;
+            }
+            out[s] = best;
+        }
+    }
+
+    // best k, highest fitness first; O(n) partial selection instead of a full sort
+    void steady_state_selection(double[] fit, int n, int k, int[] out) {
+        int[] idx = order(n);
+        IndexSort.identity(idx, n);
+        IndexSort.select(idx, fit, n, k, true);
+        System.arraycopy(idx, 0, out, 0, k);
+    }
+
+    // ---------- HELPERS ----------
+    void sample(double[] w, int n, int k, RandomGenerator rng, int[] out) {
+        WeightedSampler sampler = k > ALIAS_THRESHOLD ? alias : prefix;
+        sampler.build(w, n);
+        for (int s = 0; s < k; s++)
+            out[s] = sampler.sample(rng);
+    }
+
+    static int draw_distinct(int[] picked, int count, int n, RandomGenerator rng) {
+        while (true) {
+            int idx = rng.nextInt(n);
+            boolean seen = false;
+            for (int i = 0; i < count && !seen; i++)
+                seen = picked[i] == idx;
+            if (!seen) {
+                picked[count] = idx;
+                return idx;
+            }
+        }
+    }
+
+    double[] weights(int n) {
+        if (weights.length < n)
+            weights = new double[n];
+        return weights;
+    }
+
+    int[] order(int n) {
+        if (order.length < n)
+            order = new int[n];
+        return order;
+    }
+}
@@ -0,0 +1,102 @@
+import java.util.random.RandomGenerator;
+
+// True steady-state GA: each step breeds two offspring from parents picked by
+// config.selection_type, and each offspring replaces the current worst
+// individual if it beats it. The worst is the root of an IndexedHeap over the
+// fitness array, so with tournament selection a step costs O(t + log n)
+// instead of a full sort of the population; the other methods rebuild their
+// weights or ranking from the whole population on every step.
+public class SteadyStateGA {
+
+    // CONFIGURATION (demo)
+    static final int POP_SIZE = 1000;
+    static final int CHROM_LENGTH = 2048;
+    static final int STEPS = 1_000_000;
+    static final int TOURNAMENT_SIZE = 3;
+
+    final GAConfig config;
+    final int tournament_size;
+    final FitnessFunction<PackedGenome> fitness;
+    final RandomGenerator rng;
+    final Selection selection = new Selection();
+
+    final PackedGenome[] pop;
+    final double[] fit;
+    final IndexedHeap worst;
+    final PackedGenome c1, c2;
+    final int[] parents = new int[2];
+    int best;
+    long steps, replacements;
+
+    SteadyStateGA(GAConfig config, int tournament_size, FitnessFunction<PackedGenome> fitness, RandomGenerator rng) {
+        this.config = config;
+        this.tournament_size = tournament_size;
+        this.fitness = fitness;
+        this.rng = rng;
+        selection.tournament_size = tournament_size;
+        pop = new PackedGenome[config.pop_size];
+        fit = new double[config.pop_size];
+        worst = new IndexedHeap(fit, config.pop_size);
+        c1 = new PackedGenome(config.chrom_length);
+        c2 = new PackedGenome(config.chrom_length);
+    }
+
+    void initialize() {
+        for (int i = 0; i < config.pop_size; i++) {
+            pop[i] = PackedGenome.random_genome(config.chrom_length, rng);
+            fit[i] = fitness.evaluate(pop[i]);
+            if (fit[i] > fit[best])
+                best = i;
+        }
+        worst.build(config.pop_size);
+    }
+
+    void run(long n) {
+        for (long s = 0; s < n; s++)
+            step();
+    }
+
+    void step() {
+        selection.select(config.selection_type, fit, config.pop_size, 2, rng, parents);
+        PackedGenome.crossover(config.crossover_type, pop[parents[0]], pop[parents[1]], c1, c2, rng);
+        c1.mutate(config.mutation_type, config.mutation_rate, rng);
+        c2.mutate(config.mutation_type, config.mutation_rate, rng);
+        insert(c1);
+        insert(c2);
+        steps++;
+    }
+
+    // evicts the worst individual in O(log n) if the offspring is better
+    void insert(PackedGenome child) {
+        double f = fitness.evaluate(child);
+        if (f <= worst.top_key())
+            return;
+        int slot = worst.top();
+        pop[slot].copy_from(child);
+        fit[slot] = f;
+        worst.update(slot);
+        if (f > fit[best] || slot == best)
+            best = slot;
+        replacements++;
+    }
+
+    double best_fitness() {
+        return fit[best];
+    }
+
+    // MAIN
+    public static void main(String[] args) {
+        GAConfig config = new GAConfig(POP_SIZE, CHROM_LENGTH, "tournament", GA.crossover_type, GA.mutation_type,
+                1.0 / CHROM_LENGTH, 0);
+        SteadyStateGA ga = new SteadyStateGA(config, TOURNAMENT_SIZE, GA::fitness_function, new RngService(42).stream(0));
+
+        ga.initialize();
+        long start = System.nanoTime();
+        for (int block = 0; block < 10; block++) {
+            ga.run(STEPS / 10);
+            System.out.printf("Steps %d: Best = %.0f, Worst = %.0f%n", ga.steps, ga.best_fitness(), ga.worst.top_key());
+        }
+        double secs = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%d steps, %d replacements, %.0f steps/s%n", ga.steps, ga.replacements, ga.steps / secs);
+    }
+}
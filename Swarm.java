@@ -0,0 +1,211 @@
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+// Structure-of-arrays particle swarm (minimization). Coordinate j of
+// particle i is element i * dims + j of x, v and pbest, so the whole swarm
+// is three contiguous arrays. Personal and global bests are copied in
+// place, never cloned. move() runs a SwarmKernels row update per particle
+// (Vector API when available). Each particle's social attractor is
+// referenced, not copied: social[i] is gbest (or a published snapshot of it),
+// or under a local Topology the pbest array with social_at[i] at its lbest's
+// row. r1 and r2 are drawn into a per-thread Scratch sized to the range being
+// moved, so nothing else of size n * dims is kept.
+// Methods take particle ranges [from, to) so workers can own disjoint chunks.
+// FloatSwarm is the single-precision SwarmStorage.
+public class Swarm implements SwarmStorage {
+
+    final int n, dims;
+    final double[] x, v, pbest, pbest_score;
+    final double[] gbest;
+    final double[][] social; // particle i follows social[i][social_at[i], social_at[i] + dims)
+    final int[] social_at;
+    final double[] row; // one particle, for Objective
+    final double[] score; // latest scores, for BatchObjective
+    double gbest_score = Double.POSITIVE_INFINITY;
+
+    Swarm(int n, int dims) {
+        this.n = n;
+        this.dims = dims;
+        x = new double[n * dims];
+        v = new double[n * dims];
+        pbest = new double[n * dims];
+        pbest_score = new double[n];
+        gbest = new double[dims];
+        social = new double[n][];
+        social_at = new int[n];
+        row = new double[dims];
+        score = new double[n];
+    }
+
+    @Override
+    public int n() {
+        return n;
+    }
+
+    @Override
+    public int dims() {
+        return dims;
+    }
+
+    @Override
+    public double[] pbest_score() {
+        return pbest_score;
+    }
+
+    @Override
+    public double gbest_score() {
+        return gbest_score;
+    }
+
+    // positions uniform in [lower, upper], velocities uniform in [-v_max, v_max]
+    @Override
+    public void initialize(double lower, double upper, double v_max, RandomGenerator rng) {
+        RngService.fill(rng, x, 0, x.length);
+        RngService.fill(rng, v, 0, v.length);
+        for (int k = 0; k < x.length; k++) {
+            x[k] = lower + (upper - lower) * x[k];
+            v[k] = -v_max + 2 * v_max * v[k];
+        }
+        System.arraycopy(x, 0, pbest, 0, x.length);
+        Arrays.fill(pbest_score, Double.POSITIVE_INFINITY);
+        gbest_score = Double.POSITIVE_INFINITY;
+        follow_own(0, n);
+    }
+
+    // ---------- BESTS ----------
+    // evaluates [from, to) and updates their personal bests; returns the chunk's best particle
+    int evaluate(Objective f, int from, int to) {
+        return evaluate(f, from, to, row);
+    }
+
+    // same with a caller-owned row buffer, for workers evaluating chunks concurrently
+    @Override
+    public int evaluate(Objective f, int from, int to, double[] row) {
+        int best = -1;
+        for (int i = from; i < to; i++) {
+            System.arraycopy(x, i * dims, row, 0, dims);
+            update_best(i, f.evaluate(row));
+            if (best < 0 || pbest_score[i] < pbest_score[best])
+                best = i;
+        }
+        return best;
+    }
+
+    // whole range in one kernel call; same result and return value as the Objective version
+    int evaluate(BatchObjective f, int from, int to) {
+        f.evaluate(x, dims, from, to, score);
+        int best = -1;
+        for (int i = from; i < to; i++) {
+            update_best(i, score[i]);
+            if (best < 0 || pbest_score[i] < pbest_score[best])
+                best = i;
+        }
+        return best;
+    }
+
+    boolean update_best(int i, double score) {
+        if (score >= pbest_score[i])
+            return false;
+        pbest_score[i] = score;
+        System.arraycopy(x, i * dims, pbest, i * dims, dims);
+        return true;
+    }
+
+    // adopts particle i's personal best as gbest if it is better
+    boolean offer_global(int i) {
+        return offer_global(i, true);
+    }
+
+    // tile = false leaves the social attractors alone, for callers that re-point chunks with tile()
+    @Override
+    public boolean offer_global(int i, boolean tile) {
+        if (pbest_score[i] >= gbest_score)
+            return false;
+        gbest_score = pbest_score[i];
+        System.arraycopy(pbest, i * dims, gbest, 0, dims);
+        if (tile)
+            tile(gbest, 0, n);
+        return true;
+    }
+
+    @Override
+    public double[] gbest_copy() {
+        return gbest.clone();
+    }
+
+    @Override
+    public double[] pbest_copy(int i) {
+        return Arrays.copyOfRange(pbest, i * dims, (i + 1) * dims);
+    }
+
+    // particles [from, to) follow g, which is referenced: gbest itself or an immutable snapshot
+    @Override
+    public void tile(double[] g, int from, int to) {
+        for (int i = from; i < to; i++) {
+            social[i] = g;
+            social_at[i] = 0;
+        }
+    }
+
+    // particle i follows the personal best of particle lbest[i], for i in [from, to)
+    @Override
+    public void attract_to(int[] lbest, int from, int to) {
+        for (int i = from; i < to; i++) {
+            social[i] = pbest;
+            social_at[i] = lbest[i] * dims;
+        }
+    }
+
+    // particles [from, to) follow their own personal best, e.g. before any score is finite
+    @Override
+    public void follow_own(int from, int to) {
+        for (int i = from; i < to; i++) {
+            social[i] = pbest;
+            social_at[i] = i * dims;
+        }
+    }
+
+    // ---------- MOVE ----------
+    // v = w v + c1 r1 (pbest - x) + c2 r2 (gbest - x); x += v; clamp to the bounds
+    @Override
+    public void move(int from, int to, double w, double c1, double c2, double lower, double upper, RandomGenerator rng) {
+        int len = (to - from) * dims;
+        Scratch scratch = Scratch.get();
+        double[] r1 = scratch.r1(len), r2 = scratch.r2(len);
+        RngService.fill(rng, r1, 0, len);
+        RngService.fill(rng, r2, 0, len);
+        SwarmKernels kernels = SwarmKernels.active();
+        for (int i = from; i < to; i++) {
+            kernels.move(x, v, pbest, i * dims, social[i], social_at[i], r1, r2, (i - from) * dims, dims, w, c1, c2,
+                    lower, upper);
+        }
+    }
+
+    @Override
+    public double diversity() {
+        return Termination.diversity(x, n, dims);
+    }
+
+    // per-thread r1/r2 for move(), grown to the largest range a thread has moved
+    static class Scratch {
+        static final ThreadLocal<Scratch> LOCAL = ThreadLocal.withInitial(Scratch::new);
+
+        double[] r1 = new double[0], r2 = new double[0];
+
+        static Scratch get() {
+            return LOCAL.get();
+        }
+
+        double[] r1(int n) {
+            if (r1.length < n)
+                r1 = new double[n];
+            return r1;
+        }
+
+        double[] r2(int n) {
+            if (r2.length < n)
+                r2 = new double[n];
+            return r2;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+// PSO velocity and position update of one particle row, for Swarm (double)
+// and FloatSwarm (float):
+//   v = w v + c1 r1 (p - x) + c2 r2 (g - x); x += v; clamp to [lower, upper]
+// over x, v, p at [at, at + dims), g at [g_at, ...) and r1, r2 at [r_at, ...).
+// The rows sit at unrelated offsets, which C2's auto-vectorizer gives up on,
+// so the Vector API version does the SIMD work. It needs --add-modules
+// jdk.incubator.vector at compile and run time; without it (or with
+// -Dswarm.simd=false) the scalar loops are used. use_vector() switches at
+// runtime, e.g. for benchmarks.
+public interface SwarmKernels {
+
+    void move(double[] x, double[] v, double[] p, int at, double[] g, int g_at, double[] r1, double[] r2, int r_at,
+            int dims, double w, double c1, double c2, double lower, double upper);
+
+    void move(float[] x, float[] v, float[] p, int at, float[] g, int g_at, float[] r1, float[] r2, int r_at,
+            int dims, float w, float c1, float c2, float lower, float upper);
+
+    SwarmKernels SCALAR = Holder.SCALAR;
+    SwarmKernels VECTOR = Holder.VECTOR; // null when jdk.incubator.vector is not resolved
+
+    static SwarmKernels active() {
+        return Holder.active;
+    }
+
+    // returns whether the vector kernels are now in use
+    static boolean use_vector(boolean on) {
+        Holder.active = on && Holder.VECTOR != null ? Holder.VECTOR : Holder.SCALAR;
+        return Holder.active == Holder.VECTOR;
+    }
+
+    class Holder {
+        static final SwarmKernels SCALAR = new ScalarSwarmKernels();
+        static final SwarmKernels VECTOR = load_vector();
+        static volatile SwarmKernels active =
+                VECTOR != null && Boolean.parseBoolean(System.getProperty("swarm.simd", "true")) ? VECTOR : SCALAR;
+
+        static SwarmKernels load_vector() {
+            try {
+                return (SwarmKernels) Class.forName("VectorSwarmKernels").getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                return null;
+            }
+        }
+    }
+}
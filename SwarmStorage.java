@@ -0,0 +1,56 @@
+import java.util.random.RandomGenerator;
+
+// The flat swarm operations ParallelPSO runs on, in either precision:
+//   double - Swarm
+//   float  - FloatSwarm: half the memory traffic, twice the lanes per vector
+// Scores, positions handed out and coefficients are double in both; a float
+// swarm rounds them to float internally. Neither keeps a social buffer or
+// random draws of size n * dims: particles reference what they follow.
+public interface SwarmStorage {
+
+    int n();
+
+    int dims();
+
+    double[] pbest_score(); // live array, indexed by particle
+
+    double gbest_score();
+
+    // positions uniform in [lower, upper], velocities uniform in [-v_max, v_max]
+    void initialize(double lower, double upper, double v_max, RandomGenerator rng);
+
+    // evaluates [from, to) into the personal bests; returns the range's best particle
+    int evaluate(Objective f, int from, int to, double[] row);
+
+    // adopts particle i's personal best as gbest if it is better; tile = false leaves the social attractors alone
+    boolean offer_global(int i, boolean tile);
+
+    double[] gbest_copy();
+
+    double[] pbest_copy(int i);
+
+    // particles [from, to) follow g, kept by reference (a float swarm narrows each distinct g once),
+    // so g must be a snapshot nobody modifies afterwards
+    void tile(double[] g, int from, int to);
+
+    // particle i follows the personal best of particle lbest[i], for i in [from, to)
+    void attract_to(int[] lbest, int from, int to);
+
+    // particles [from, to) follow their own personal best, while there is no gbest yet
+    void follow_own(int from, int to);
+
+    void move(int from, int to, double w, double c1, double c2, double lower, double upper, RandomGenerator rng);
+
+    double diversity();
+
+    static SwarmStorage of(String precision, int n, int dims) {
+        switch (precision) {
+            case "double":
+                return new Swarm(n, dims);
+            case "float":
+                return new FloatSwarm(n, dims);
+            default:
+                throw new IllegalArgumentException("Unknown precision: " + precision);
+        }
+    }
+}
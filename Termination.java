@@ -0,0 +1,181 @@
+import java.util.List;
+
+// Stopping rules shared by the GA, GWO and PSO loops. A loop calls start()
+// once, then should_stop(best, diversity, evaluations) after every
+// generation/iteration; the first rule that fires is kept in reason().
+// Every rule except the iteration cap is off until it is set:
+//   target         - best reached the target value
+//   stagnation     - best has not improved by more than tol for `window` iterations
+//   diversity      - population/swarm spread fell below a threshold
+//   time budget    - wall-clock limit since start()
+//   evaluations    - fitness evaluation budget
+// `minimize` orients both the target and the improvement test.
+public class Termination {
+
+    enum StopReason {
+        MAX_ITERATIONS, TARGET_REACHED, STAGNATION, DIVERSITY_COLLAPSE, TIME_BUDGET, EVALUATION_BUDGET
+    }
+
+    final boolean minimize;
+    int max_iterations = Integer.MAX_VALUE;
+    double target = Double.NaN;
+    int stagnation_window;
+    double stagnation_tol;
+    double min_diversity;
+    long time_budget_nanos;
+    long max_evaluations;
+
+    // RUN STATE
+    int iterations, last_improvement;
+    long evaluations, start_nanos, elapsed_nanos;
+    double best;
+    StopReason reason;
+
+    Termination(boolean minimize) {
+        this.minimize = minimize;
+    }
+
+    // ---------- RULES (chainable) ----------
+    Termination max_iterations(int n) {
+        max_iterations = n;
+        return this;
+    }
+
+    Termination target(double value) {
+        target = value;
+        return this;
+    }
+
+    Termination stagnation(int window, double tol) {
+        stagnation_window = window;
+        stagnation_tol = tol;
+        return this;
+    }
+
+    Termination min_diversity(double threshold) {
+        min_diversity = threshold;
+        return this;
+    }
+
+    Termination time_budget_ms(long ms) {
+        time_budget_nanos = ms * 1_000_000;
+        return this;
+    }
+
+    Termination max_evaluations(long n) {
+        max_evaluations = n;
+        return this;
+    }
+
+    // diversity is only worth computing when the rule is on
+    boolean needs_diversity() {
+        return min_diversity > 0;
+    }
+
+    // ---------- RUN ----------
+    Termination start() {
+        iterations = last_improvement = 0;
+        evaluations = elapsed_nanos = 0;
+        best = minimize ? Double.POSITIVE_INFINITY : Double.NEGATIVE_INFINITY;
+        reason = null;
+        start_nanos = System.nanoTime();
+        return this;
+    }
+
+    // current: best value of this iteration (or so far); diversity: NaN when not measured;
+    // evaluations: running total for the whole run
+    boolean should_stop(double current, double diversity, long evaluations) {
+        iterations++;
+        this.evaluations = evaluations;
+        elapsed_nanos = System.nanoTime() - start_nanos;
+        if (minimize ? current < best - stagnation_tol : current > best + stagnation_tol)
+            last_improvement = iterations;
+        if (minimize ? current < best : current > best)
+            best = current;
+
+        if (!Double.isNaN(target) && (minimize ? best <= target : best >= target))
+            reason = StopReason.TARGET_REACHED;
+        else if (stagnation_window > 0 && iterations - last_improvement >= stagnation_window)
+            reason = StopReason.STAGNATION;
+        else if (needs_diversity() && diversity < min_diversity)
+            reason = StopReason.DIVERSITY_COLLAPSE;
+        else if (max_evaluations > 0 && evaluations >= max_evaluations)
+            reason = StopReason.EVALUATION_BUDGET;
+        else if (time_budget_nanos > 0 && elapsed_nanos >= time_budget_nanos)
+            reason = StopReason.TIME_BUDGET;
+        else if (iterations >= max_iterations)
+            reason = StopReason.MAX_ITERATIONS;
+        return reason != null;
+    }
+
+    String report() {
+        return String.format("Stopped: %s after %d iterations, %d evaluations, %d ms (best = %.6g)", reason,
+                iterations, evaluations, elapsed_nanos / 1_000_000, best);
+    }
+
+    // ---------- DIVERSITY MEASURES ----------
+    // mean per-dimension standard deviation of a flat swarm: coordinate j of particle i at x[i * dims + j]
+    static double diversity(double[] x, int n, int dims) {
+        double total = 0;
+        for (int d = 0; d < dims; d++) {
+            double sum = 0, sq = 0;
+            for (int k = d; k < n * dims; k += dims) {
+                sum += x[k];
+                sq += x[k] * x[k];
+            }
+            double mean = sum / n;
+            total += Math.sqrt(Math.max(0, sq / n - mean * mean));
+        }
+        return total / dims;
+    }
+
+    static double diversity(float[] x, int n, int dims) {
+        double total = 0;
+        for (int d = 0; d < dims; d++) {
+            double sum = 0, sq = 0;
+            for (int k = d; k < n * dims; k += dims) {
+                sum += x[k];
+                sq += (double) x[k] * x[k];
+            }
+            double mean = sum / n;
+            total += Math.sqrt(Math.max(0, sq / n - mean * mean));
+        }
+        return total / dims;
+    }
+
+    // mean pairwise Hamming distance per gene: 0 when every chromosome is identical
+    static double diversity(List<String> pop) {
+        int n = pop.size(), len = pop.get(0).length();
+        int[] ones = new int[len];
+        for (String chrom : pop) {
+            for (int j = 0; j < len; j++) {
+                if (chrom.charAt(j) == '1')
+                    ones[j]++;
+            }
+        }
+        return pairwise(ones, n, len);
+    }
+
+    static double diversity(PackedGenome[] pop, int n) {
+        int len = pop[0].length;
+        int[] ones = new int[len];
+        for (int i = 0; i < n; i++) {
+            long[] words = pop[i].words;
+            for (int w = 0; w < words.length; w++) {
+                for (long bits = words[w]; bits != 0; bits &= bits - 1)
+                    ones[(w << 6) + Long.numberOfTrailingZeros(bits)]++;
+            }
+        }
+        return pairwise(ones, n, len);
+    }
+
+    // a locus with p ones out of n differs in 2p(n-p) / (n(n-1)) of all pairs
+    static double pairwise(int[] ones, int n, int len) {
+        if (n < 2)
+            return 0;
+        double sum = 0;
+        for (int j = 0; j < len; j++)
+            sum += 2.0 * ones[j] * (n - ones[j]);
+        return sum / ((double) n * (n - 1) * len);
+    }
+}
@@ -0,0 +1,142 @@
+import java.util.random.RandomGenerator;
+
+// Local-best neighbourhoods for PSO, stored as CSR index arrays: the
+// neighbours of particle i (itself included) are
+// neighbors[offsets[i], offsets[i + 1]). best_neighbors() only reads
+// pbest scores, so workers can refresh the lbest of their own particles
+// without a global reduction.
+//   ring        - i and its k nearest indices (k / 2 on each side)
+//   von_neumann - 2-D torus grid: i, up, down, left, right (k must be 4, and
+//                 n must factor as rows x cols with 2 <= rows <= cols)
+//   random      - k-regular ring over a random permutation of the particles
+//   dynamic     - random groups of k + 1, regrouped every `period` iterations
+public class Topology {
+
+    static final int REGROUP_PERIOD = 5;
+
+    final String kind;
+    final int n, k, period;
+    final int[] offsets;
+    int[] neighbors;
+    final int[] perm;
+
+    Topology(String kind, int n, int k, RandomGenerator rng) {
+        if (k < 1 || k >= n)
+            throw new IllegalArgumentException("k must be in [1, n)");
+        this.kind = kind;
+        this.n = n;
+        this.k = k;
+        this.period = REGROUP_PERIOD;
+        offsets = new int[n + 1];
+        perm = new int[n];
+        switch (kind) {
+            case "ring":
+                IndexSort.identity(perm, n);
+                ring(perm);
+                break;
+            case "random":
+                shuffle(rng);
+                ring(perm);
+                break;
+            case "von_neumann":
+                if (k != 4)
+                    throw new IllegalArgumentException("von_neumann has 4 neighbours, k must be 4");
+                von_neumann();
+                break;
+            case "dynamic":
+                shuffle(rng);
+                groups();
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown topology: " + kind);
+        }
+    }
+
+    // ---------- CONSTRUCTION ----------
+    // particle order[p] is linked to order[p - k/2 .. p + k - k/2] (wrapping)
+    void ring(int[] order) {
+        int degree = k + 1, left = k / 2;
+        neighbors = new int[n * degree];
+        for (int p = 0; p < n; p++) {
+            int i = order[p], base = i * degree;
+            offsets[i + 1] = base + degree;
+            for (int d = 0; d < degree; d++)
+                neighbors[base + d] = order[Math.floorMod(p - left + d, n)];
+        }
+    }
+
+    // rows x cols torus, rows the largest divisor of n not above sqrt(n); a prime n
+    // would give a single row, which is just a ring
+    void von_neumann() {
+        int rows = (int) Math.sqrt(n);
+        while (n % rows != 0)
+            rows--;
+        if (rows < 2)
+            throw new IllegalArgumentException("von_neumann needs a particle count with a 2-D grid, not " + n);
+        int cols = n / rows;
+        neighbors = new int[n * 5];
+        for (int i = 0; i < n; i++) {
+            int r = i / cols, c = i % cols, base = i * 5;
+            offsets[i + 1] = base + 5;
+            neighbors[base] = i;
+            neighbors[base + 1] = ((r + rows - 1) % rows) * cols + c;
+            neighbors[base + 2] = ((r + 1) % rows) * cols + c;
+            neighbors[base + 3] = r * cols + (c + cols - 1) % cols;
+            neighbors[base + 4] = r * cols + (c + 1) % cols;
+        }
+    }
+
+    // consecutive runs of k + 1 in perm form the groups; the last one also takes the short tail
+    void groups() {
+        int size = k + 1;
+        int last = (n / size - 1) * size;
+        for (int p = 0; p < n; p++)
+            offsets[perm[p] + 1] = group_end(p, size, last) - group_start(p, size, last);
+        for (int i = 0; i < n; i++)
+            offsets[i + 1] += offsets[i];
+        if (neighbors == null)
+            neighbors = new int[offsets[n]]; // the group sizes, hence the total, never change
+        for (int p = 0; p < n; p++) {
+            int g = group_start(p, size, last);
+            System.arraycopy(perm, g, neighbors, offsets[perm[p]], group_end(p, size, last) - g);
+        }
+    }
+
+    static int group_start(int p, int size, int last) {
+        return Math.min(p - p % size, last);
+    }
+
+    int group_end(int p, int size, int last) {
+        int g = group_start(p, size, last);
+        return g == last ? n : g + size;
+    }
+
+    void shuffle(RandomGenerator rng) {
+        IndexSort.identity(perm, n);
+        for (int i = n - 1; i > 0; i--)
+            IndexSort.swap(perm, i, rng.nextInt(i + 1));
+    }
+
+    // dynamic topologies regroup every `period` iterations; true if they did
+    boolean maybe_regroup(int iteration, RandomGenerator rng) {
+        if (!kind.equals("dynamic") || iteration % period != 0)
+            return false;
+        shuffle(rng);
+        groups();
+        return true;
+    }
+
+    // ---------- LOCAL BEST ----------
+    // out[i] = neighbour of i with the lowest score, for i in [from, to)
+    void best_neighbors(double[] score, int from, int to, int[] out) {
+        for (int i = from; i < to; i++) {
+            int best = neighbors[offsets[i]];
+            for (int e = offsets[i] + 1; e < offsets[i + 1]; e++) {
+                int j = neighbors[e];
+                if (score[j] < score[best])
+                    best = j;
+            }
+            out[i] = best;
+        }
+    }
+}
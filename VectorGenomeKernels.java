@@ -0,0 +1,55 @@
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+// Loaded reflectively by GenomeKernels; only touch it through that interface.
+public class VectorGenomeKernels implements GenomeKernels {
+
+    static final VectorSpecies<Long> LONGS = LongVector.SPECIES_PREFERRED;
+    static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+
+    @Override
+    public void blend(long[] a, long[] b, long[] mask, long[] c1, long[] c2, int n) {
+        int i = 0;
+        for (int bound = LONGS.loopBound(n); i < bound; i += LONGS.length()) {
+            LongVector va = LongVector.fromArray(LONGS, a, i);
+            LongVector vb = LongVector.fromArray(LONGS, b, i);
+            LongVector vm = LongVector.fromArray(LONGS, mask, i);
+            // BITWISE_BLEND(x, y, m) = (x & ~m) | (y & m)
+            vb.lanewise(VectorOperators.BITWISE_BLEND, va, vm).intoArray(c1, i);
+            va.lanewise(VectorOperators.BITWISE_BLEND, vb, vm).intoArray(c2, i);
+        }
+        for (; i < n; i++) {
+            long m = mask[i], x = a[i], y = b[i];
+            c1[i] = (x & m) | (y & ~m);
+            c2[i] = (y & m) | (x & ~m);
+        }
+    }
+
+    @Override
+    public void bernoulli_masks(double[] u, double rate, long[] masks, int n) {
+        int step = DOUBLES.length(); // 2, 4 or 8: always divides 64
+        for (int w = 0; w < n; w++) {
+            long m = 0;
+            int base = w << 6;
+            for (int j = 0; j < 64; j += step) {
+                long lanes = DoubleVector.fromArray(DOUBLES, u, base + j).compare(VectorOperators.LT, rate).toLong();
+                m |= lanes << j;
+            }
+            masks[w] = m;
+        }
+    }
+
+    @Override
+    public void xor(long[] words, long[] mask, int n) {
+        int i = 0;
+        for (int bound = LONGS.loopBound(n); i < bound; i += LONGS.length()) {
+            LongVector.fromArray(LONGS, words, i)
+                    .lanewise(VectorOperators.XOR, LongVector.fromArray(LONGS, mask, i))
+                    .intoArray(words, i);
+        }
+        for (; i < n; i++)
+            words[i] ^= mask[i];
+    }
+}
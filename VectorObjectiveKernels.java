@@ -0,0 +1,88 @@
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+// Loaded reflectively by ObjectiveKernels; only touch it through that interface.
+// Each row is vectorized along its coordinates with lane-wise partial sums,
+// reduced once per row; the tail of a row runs the scalar loop.
+public class VectorObjectiveKernels implements ObjectiveKernels {
+
+    static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+    static final double TWO_PI = 2 * Math.PI;
+
+    @Override
+    public void rosenbrock(double[] x, int dims, int from, int to, double[] out) {
+        int terms = dims - 1, bound = DOUBLES.loopBound(Math.max(terms, 0));
+        for (int i = from; i < to; i++) {
+            int base = i * dims, j = 0;
+            DoubleVector acc = DoubleVector.zero(DOUBLES);
+            for (; j < bound; j += DOUBLES.length()) {
+                DoubleVector xj = DoubleVector.fromArray(DOUBLES, x, base + j);
+                DoubleVector next = DoubleVector.fromArray(DOUBLES, x, base + j + 1);
+                DoubleVector a = next.sub(xj.mul(xj)), b = xj.sub(1);
+                acc = a.mul(a).mul(100).add(acc).add(b.mul(b));
+            }
+            double sum = acc.reduceLanes(VectorOperators.ADD);
+            for (; j < terms; j++) {
+                double a = x[base + j + 1] - x[base + j] * x[base + j], b = x[base + j] - 1;
+                sum += 100 * a * a + b * b;
+            }
+            out[i] = sum;
+        }
+    }
+
+    @Override
+    public void rastrigin(double[] x, int dims, int from, int to, double[] out) {
+        int bound = DOUBLES.loopBound(dims);
+        for (int i = from; i < to; i++) {
+            int base = i * dims, j = 0;
+            DoubleVector acc = DoubleVector.zero(DOUBLES);
+            for (; j < bound; j += DOUBLES.length()) {
+                DoubleVector xj = DoubleVector.fromArray(DOUBLES, x, base + j);
+                DoubleVector cos = xj.mul(TWO_PI).lanewise(VectorOperators.COS);
+                acc = xj.fma(xj, acc).sub(cos.mul(10));
+            }
+            double sum = 10.0 * dims + acc.reduceLanes(VectorOperators.ADD);
+            for (; j < dims; j++)
+                sum += x[base + j] * x[base + j] - 10.0 * Math.cos(TWO_PI * x[base + j]);
+            out[i] = sum;
+        }
+    }
+
+    @Override
+    public void sphere(double[] x, int dims, int from, int to, double[] out) {
+        int bound = DOUBLES.loopBound(dims);
+        for (int i = from; i < to; i++) {
+            int base = i * dims, j = 0;
+            DoubleVector acc = DoubleVector.zero(DOUBLES);
+            for (; j < bound; j += DOUBLES.length()) {
+                DoubleVector xj = DoubleVector.fromArray(DOUBLES, x, base + j);
+                acc = xj.fma(xj, acc);
+            }
+            double sum = acc.reduceLanes(VectorOperators.ADD);
+            for (; j < dims; j++)
+                sum += x[base + j] * x[base + j];
+            out[i] = sum;
+        }
+    }
+
+    @Override
+    public void ackley(double[] x, int dims, int from, int to, double[] out) {
+        int bound = DOUBLES.loopBound(dims);
+        for (int i = from; i < to; i++) {
+            int base = i * dims, j = 0;
+            DoubleVector sq = DoubleVector.zero(DOUBLES), cos = DoubleVector.zero(DOUBLES);
+            for (; j < bound; j += DOUBLES.length()) {
+                DoubleVector xj = DoubleVector.fromArray(DOUBLES, x, base + j);
+                sq = xj.fma(xj, sq);
+                cos = cos.add(xj.mul(TWO_PI).lanewise(VectorOperators.COS));
+            }
+            double s = sq.reduceLanes(VectorOperators.ADD), c = cos.reduceLanes(VectorOperators.ADD);
+            for (; j < dims; j++) {
+                s += x[base + j] * x[base + j];
+                c += Math.cos(TWO_PI * x[base + j]);
+            }
+            out[i] = ScalarObjectiveKernels.ackley(s, c, dims);
+        }
+    }
+}
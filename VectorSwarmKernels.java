@@ -0,0 +1,56 @@
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorSpecies;
+
+// Loaded reflectively by SwarmKernels; only touch it through that interface.
+// Lane-wise the same operations in the same order as the scalar loop, so
+// both kernels move a swarm identically; the tail of a row runs the scalar loop.
+public class VectorSwarmKernels implements SwarmKernels {
+
+    static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+    static final VectorSpecies<Float> FLOATS = FloatVector.SPECIES_PREFERRED;
+
+    @Override
+    public void move(double[] x, double[] v, double[] p, int at, double[] g, int g_at, double[] r1, double[] r2,
+            int r_at, int dims, double w, double c1, double c2, double lower, double upper) {
+        int j = 0;
+        for (int bound = DOUBLES.loopBound(dims); j < bound; j += DOUBLES.length()) {
+            DoubleVector xj = DoubleVector.fromArray(DOUBLES, x, at + j);
+            DoubleVector cognitive = DoubleVector.fromArray(DOUBLES, r1, r_at + j).mul(c1)
+                    .mul(DoubleVector.fromArray(DOUBLES, p, at + j).sub(xj));
+            DoubleVector social = DoubleVector.fromArray(DOUBLES, r2, r_at + j).mul(c2)
+                    .mul(DoubleVector.fromArray(DOUBLES, g, g_at + j).sub(xj));
+            DoubleVector vj = DoubleVector.fromArray(DOUBLES, v, at + j).mul(w).add(cognitive).add(social);
+            vj.intoArray(v, at + j);
+            xj.add(vj).min(upper).max(lower).intoArray(x, at + j);
+        }
+        for (; j < dims; j++) {
+            int k = at + j;
+            double vk = w * v[k] + c1 * r1[r_at + j] * (p[k] - x[k]) + c2 * r2[r_at + j] * (g[g_at + j] - x[k]);
+            v[k] = vk;
+            x[k] = Math.max(lower, Math.min(upper, x[k] + vk));
+        }
+    }
+
+    @Override
+    public void move(float[] x, float[] v, float[] p, int at, float[] g, int g_at, float[] r1, float[] r2,
+            int r_at, int dims, float w, float c1, float c2, float lower, float upper) {
+        int j = 0;
+        for (int bound = FLOATS.loopBound(dims); j < bound; j += FLOATS.length()) {
+            FloatVector xj = FloatVector.fromArray(FLOATS, x, at + j);
+            FloatVector cognitive = FloatVector.fromArray(FLOATS, r1, r_at + j).mul(c1)
+                    .mul(FloatVector.fromArray(FLOATS, p, at + j).sub(xj));
+            FloatVector social = FloatVector.fromArray(FLOATS, r2, r_at + j).mul(c2)
+                    .mul(FloatVector.fromArray(FLOATS, g, g_at + j).sub(xj));
+            FloatVector vj = FloatVector.fromArray(FLOATS, v, at + j).mul(w).add(cognitive).add(social);
+            vj.intoArray(v, at + j);
+            xj.add(vj).min(upper).max(lower).intoArray(x, at + j);
+        }
+        for (; j < dims; j++) {
+            int k = at + j;
+            float vk = w * v[k] + c1 * r1[r_at + j] * (p[k] - x[k]) + c2 * r2[r_at + j] * (g[g_at + j] - x[k]);
+            v[k] = vk;
+            x[k] = Math.max(lower, Math.min(upper, x[k] + vk));
+        }
+    }
+}
@@ -0,0 +1,11 @@
+import java.util.random.RandomGenerator;
+
+// Draws indices in [0, n) with probability proportional to a weight.
+// Implementations keep their tables between builds, so one instance can be
+// rebuilt every generation without allocating.
+public interface WeightedSampler {
+
+    void build(double[] weights, int n);
+
+    int sample(RandomGenerator rng);
+}
@@ -0,0 +1,33 @@
+package benchmarks;
+
+import java.util.SplittableRandom;
+
+// Fitness arrays from flat to heavily skewed, all strictly positive so
+// fitness-proportional selection is well defined.
+final class FitnessDistributions {
+
+    private FitnessDistributions() {
+    }
+
+    static double[] generate(String distribution, int n, long seed) {
+        SplittableRandom rng = new SplittableRandom(seed);
+        double[] f = new double[n];
+        for (int i = 0; i < n; i++) {
+            double u = rng.nextDouble();
+            switch (distribution) {
+                case "uniform": // every individual roughly equal
+                    f[i] = 1 + u;
+                    break;
+                case "exponential":
+                    f[i] = -Math.log(1 - u) + 1e-9;
+                    break;
+                case "pareto": // alpha = 1.1: a handful of individuals hold most of the mass
+                    f[i] = Math.pow(1 - u, -1 / 1.1);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown distribution: " + distribution);
+            }
+        }
+        return f;
+    }
+}
@@ -0,0 +1,123 @@
+package benchmarks;
+
+import java.lang.invoke.MethodHandle;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+// The GenomeKernels behind PackedGenome's uniform crossover and dense
+// bit-flip mutation, without the operators' RNG draws around them:
+//   scalar - ScalarGenomeKernels
+//   vector - VectorGenomeKernels (falls back to scalar, and says so in
+//            setup, when jdk.incubator.vector is missing)
+// Both implementations get the same words, masks and uniforms (fixed seed),
+// so their scores compare the kernels alone.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "--add-modules", "jdk.incubator.vector" })
+public class GenomeKernelBenchmark {
+
+    static final MethodHandle USE_VECTOR = Targets.find_static("GenomeKernels", "use_vector", boolean.class,
+            boolean.class);
+    static final Class<?> KERNELS = Targets.type("GenomeKernels");
+    static final MethodHandle ACTIVE = Targets.hide(Targets.find_static("GenomeKernels", "active", KERNELS),
+            KERNELS);
+    static final MethodHandle BLEND = Targets.find_virtual("GenomeKernels", "blend", void.class, long[].class,
+            long[].class, long[].class, long[].class, long[].class, int.class);
+    static final MethodHandle BERNOULLI_MASKS = Targets.find_virtual("GenomeKernels", "bernoulli_masks",
+            void.class, double[].class, double.class, long[].class, int.class);
+    static final MethodHandle XOR = Targets.find_virtual("GenomeKernels", "xor", void.class, long[].class,
+            long[].class, int.class);
+
+    @Param({ "64", "1000", "10000", "100000" })
+    int length;
+
+    @Param({ "scalar", "vector" })
+    String implementation;
+
+    int words;
+    long[] a, b, mask, c1, c2;
+    double[] u;
+    Object kernels;
+
+    @Setup
+    public void setup() throws Throwable {
+        boolean vector = (boolean) USE_VECTOR.invokeExact(implementation.equals("vector"));
+        if (implementation.equals("vector") && !vector)
+            System.out.println("jdk.incubator.vector not available: vector runs the scalar kernels");
+        kernels = (Object) ACTIVE.invokeExact();
+
+        SplittableRandom rng = new SplittableRandom(11);
+        words = (length + 63) >>> 6;
+        a = new long[words];
+        b = new long[words];
+        mask = new long[words];
+        c1 = new long[words];
+        c2 = new long[words];
+        u = new double[words << 6];
+        for (int w = 0; w < words; w++) {
+            a[w] = rng.nextLong();
+            b[w] = rng.nextLong();
+            mask[w] = rng.nextLong();
+        }
+        for (int j = 0; j < u.length; j++)
+            u[j] = rng.nextDouble();
+    }
+
+    // uniform crossover: both children from one random mask
+    @Benchmark
+    public long[] blend() {
+        try {
+            BLEND.invokeExact(kernels, a, b, mask, c1, c2, words);
+            return c1;
+        } catch (Throwable t) {
+            throw Targets.rethrow(t);
+        }
+    }
+
+    // dense bit-flip: one mask bit per uniform below the rate
+    @Benchmark
+    public long[] bernoulli_masks() {
+        try {
+            BERNOULLI_MASKS.invokeExact(kernels, u, 0.1, c1, words);
+            return c1;
+        } catch (Throwable t) {
+            throw Targets.rethrow(t);
+        }
+    }
+
+    // applying a flip mask in place
+    @Benchmark
+    public long[] xor() {
+        try {
+            XOR.invokeExact(kernels, c2, mask, words);
+            return c2;
+        } catch (Throwable t) {
+            throw Targets.rethrow(t);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+                .include(GenomeKernelBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,129 @@
+package benchmarks;
+
+import java.lang.invoke.MethodHandle;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+// One whole-population evaluation (pop_size rows of dims values) per call:
+//   row    - GreyWolf.rosenbrock row by row, the old per-position path
+//            (Rosenbrock only; the other functions run the scalar kernels)
+//   scalar - ScalarObjectiveKernels
+//   vector - VectorObjectiveKernels (falls back to scalar, and says so in
+//            setup, when jdk.incubator.vector is missing)
+// Scores are evaluations per second = ops/s * pop_size.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "--add-modules", "jdk.incubator.vector" })
+public class ObjectiveBenchmark {
+
+    static final MethodHandle ROW_ROSENBROCK = Targets.find_static("GreyWolf", "rosenbrock", double.class,
+            double[].class);
+    static final MethodHandle USE_VECTOR = Targets.find_static("ObjectiveKernels", "use_vector", boolean.class,
+            boolean.class);
+    static final Class<?> KERNELS = Targets.type("ObjectiveKernels");
+    static final MethodHandle ACTIVE = Targets.hide(Targets.find_static("ObjectiveKernels", "active", KERNELS),
+            KERNELS);
+
+    static final MethodHandle ROSENBROCK = kernel("rosenbrock");
+    static final MethodHandle RASTRIGIN = kernel("rastrigin");
+    static final MethodHandle SPHERE = kernel("sphere");
+    static final MethodHandle ACKLEY = kernel("ackley");
+
+    @Param({ "2", "30", "1000" })
+    int dims;
+
+    @Param({ "256" })
+    int pop_size;
+
+    @Param({ "row", "scalar", "vector" })
+    String implementation;
+
+    double[] x, out, row;
+    Object kernels;
+
+    @Setup
+    public void setup() throws Throwable {
+        boolean vector = (boolean) USE_VECTOR.invokeExact(implementation.equals("vector"));
+        if (implementation.equals("vector") && !vector)
+            System.out.println("jdk.incubator.vector not available: vector runs the scalar kernels");
+        kernels = (Object) ACTIVE.invokeExact();
+
+        SplittableRandom rng = new SplittableRandom(11);
+        x = new double[pop_size * dims];
+        for (int k = 0; k < x.length; k++)
+            x[k] = -5 + 10 * rng.nextDouble();
+        out = new double[pop_size];
+        row = new double[dims];
+    }
+
+    @Benchmark
+    public double[] rosenbrock() {
+        try {
+            if (implementation.equals("row")) {
+                for (int i = 0; i < pop_size; i++) {
+                    System.arraycopy(x, i * dims, row, 0, dims);
+                    out[i] = (double) ROW_ROSENBROCK.invokeExact(row);
+                }
+                return out;
+            }
+            return batch(ROSENBROCK);
+        } catch (Throwable t) {
+            throw Targets.rethrow(t);
+        }
+    }
+
+    @Benchmark
+    public double[] rastrigin() {
+        return batch(RASTRIGIN);
+    }
+
+    @Benchmark
+    public double[] sphere() {
+        return batch(SPHERE);
+    }
+
+    @Benchmark
+    public double[] ackley() {
+        return batch(ACKLEY);
+    }
+
+    // ---------- HELPERS ----------
+    static MethodHandle kernel(String name) {
+        return Targets.find_virtual("ObjectiveKernels", name, void.class, double[].class, int.class, int.class,
+                int.class, double[].class);
+    }
+
+    double[] batch(MethodHandle kernel) {
+        try {
+            kernel.invokeExact(kernels, x, dims, 0, pop_size, out);
+            return out;
+        } catch (Throwable t) {
+            throw Targets.rethrow(t);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+                .include(ObjectiveBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,167 @@
+package benchmarks;
+
+import java.lang.invoke.MethodHandle;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.random.RandomGenerator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+// Crossover and mutation operators for every genome representation:
+//   string        - the '0'/'1' String operators in GA and GA_Selection_Crossover
+//   packed_scalar - PackedGenome with ScalarGenomeKernels
+//   packed_vector - PackedGenome with VectorGenomeKernels (falls back to scalar,
+//                   and says so in setup, when jdk.incubator.vector is missing)
+// String operators allocate their children; packed ones write into
+// preallocated children, which is how the engines call them. Read
+// gc.alloc.rate.norm from the GC profiler for bytes per operation.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "--add-modules", "jdk.incubator.vector" })
+public class OperatorBenchmark {
+
+    // ---------- String operators ----------
+    static final MethodHandle STR_SINGLE = string_crossover("GA", "single_point_crossover");
+    static final MethodHandle STR_TWO = string_crossover("GA", "two_point_crossover");
+    static final MethodHandle STR_MULTI = string_crossover("GA_Selection_Crossover", "multi_point_crossover");
+    static final MethodHandle STR_UNIFORM = string_crossover("GA", "uniform_crossover");
+    static final MethodHandle STR_BIT_FLIP = Targets.find_static("GA", "bit_flip_mutation", String.class,
+            String.class, double.class);
+    static final MethodHandle STR_SWAP = Targets.find_static("GA", "swap_mutation", String.class, String.class);
+
+    // ---------- PackedGenome operators ----------
+    static final Class<?> PACKED = Targets.type("PackedGenome");
+    static final MethodHandle PACKED_RANDOM = Targets.hide(Targets.find_static("PackedGenome", "random_genome",
+            PACKED, int.class, RandomGenerator.class), PACKED);
+    static final MethodHandle PACKED_NEW = Targets.find_constructor("PackedGenome", int.class);
+    static final MethodHandle PACKED_CROSSOVER = Targets.hide(Targets.find_static("PackedGenome", "crossover",
+            void.class, String.class, PACKED, PACKED, PACKED, PACKED, RandomGenerator.class), PACKED);
+    static final MethodHandle PACKED_MUTATE = Targets.find_virtual("PackedGenome", "mutate", void.class,
+            String.class, double.class, RandomGenerator.class);
+    static final MethodHandle USE_VECTOR = Targets.find_static("GenomeKernels", "use_vector", boolean.class,
+            boolean.class);
+
+    @Param({ "6", "64", "1000", "10000", "100000" })
+    int length;
+
+    @Param({ "string", "packed_scalar", "packed_vector" })
+    String representation;
+
+    final SplittableRandom rng = new SplittableRandom(11);
+    String s1, s2;
+    Object p1, p2, c1, c2, m;
+
+    @Setup
+    public void setup() throws Throwable {
+        boolean vector = (boolean) USE_VECTOR.invokeExact(representation.equals("packed_vector"));
+        if (representation.equals("packed_vector") && !vector)
+            System.out.println("jdk.incubator.vector not available: packed_vector runs the scalar kernels");
+
+        p1 = (Object) PACKED_RANDOM.invokeExact(length, (RandomGenerator) rng);
+        p2 = (Object) PACKED_RANDOM.invokeExact(length, (RandomGenerator) rng);
+        c1 = (Object) PACKED_NEW.invokeExact(length);
+        c2 = (Object) PACKED_NEW.invokeExact(length);
+        m = (Object) PACKED_RANDOM.invokeExact(length, (RandomGenerator) rng);
+        s1 = p1.toString();
+        s2 = p2.toString();
+    }
+
+    // ---------- CROSSOVER ----------
+    @Benchmark
+    public Object single_point_crossover() {
+        return crossover("single_point", STR_SINGLE);
+    }
+
+    @Benchmark
+    public Object two_point_crossover() {
+        return crossover("two_point", STR_TWO);
+    }
+
+    @Benchmark
+    public Object multi_point_crossover() {
+        return crossover("multi_point", STR_MULTI);
+    }
+
+    @Benchmark
+    public Object uniform_crossover() {
+        return crossover("uniform", STR_UNIFORM);
+    }
+
+    // ---------- MUTATION ----------
+    // packed mutation works in place on the same genome every call, like an
+    // engine mutating its offspring; the string version returns a new String.
+    // sparse (1 / length) takes PackedGenome's geometric-gap path, dense the mask kernels
+    @Benchmark
+    public Object bit_flip_mutation_sparse() {
+        return bit_flip(1.0 / length);
+    }
+
+    @Benchmark
+    public Object bit_flip_mutation_dense() {
+        return bit_flip(0.1);
+    }
+
+    @Benchmark
+    public Object swap_mutation() {
+        try {
+            if (representation.equals("string"))
+                return (String) STR_SWAP.invokeExact(s1);
+            PACKED_MUTATE.invokeExact(m, "swap", 0.0, (RandomGenerator) rng);
+            return m;
+        } catch (Throwable t) {
+            throw Targets.rethrow(t);
+        }
+    }
+
+    // ---------- HELPERS ----------
+    static MethodHandle string_crossover(String cls, String name) {
+        return Targets.find_static(cls, name, String[].class, String.class, String.class);
+    }
+
+    Object bit_flip(double rate) {
+        try {
+            if (representation.equals("string"))
+                return (String) STR_BIT_FLIP.invokeExact(s1, rate);
+            PACKED_MUTATE.invokeExact(m, "bit_flip", rate, (RandomGenerator) rng);
+            return m;
+        } catch (Throwable t) {
+            throw Targets.rethrow(t);
+        }
+    }
+
+    Object crossover(String method, MethodHandle string_op) {
+        try {
+            if (representation.equals("string"))
+                return (String[]) string_op.invokeExact(s1, s2);
+            PACKED_CROSSOVER.invokeExact(method, p1, p2, c1, c2, (RandomGenerator) rng);
+            return c1;
+        } catch (Throwable t) {
+            throw Targets.rethrow(t);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+                .include(OperatorBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,183 @@
+package benchmarks;
+
+import java.lang.invoke.MethodHandle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.random.RandomGenerator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+// Selection operators of GA and GA_SelectionOnly, plus the index-based
+// Selection kernels the engines use, across population size, number of
+// picks k and fitness skew. Each op is one full selection of k parents.
+// Run main() (or pass -prof gc) to get allocation rates next to ops/s.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SelectionBenchmark {
+
+    static final MethodHandle GA_CANONICAL = list_op("GA", "canonical_selection");
+    static final MethodHandle GA_ROULETTE = list_op("GA", "roulette_wheel_selection");
+    static final MethodHandle GA_RANK = list_op("GA", "rank_based_selection");
+    static final MethodHandle GA_STEADY = list_op("GA", "steady_state_selection");
+    static final MethodHandle GA_TOURNAMENT = Targets.find_static("GA", "tournament_selection", List.class,
+            List.class, double[].class, int.class, int.class);
+    static final MethodHandle ONLY_CANONICAL = list_op("GA_SelectionOnly", "canonical_selection");
+    static final MethodHandle ONLY_ROULETTE = list_op("GA_SelectionOnly", "roulette_selection");
+    static final MethodHandle ONLY_TOURNAMENT = Targets.find_static("GA_SelectionOnly", "tournament_selection",
+            List.class, List.class, List.class, int.class, int.class);
+    static final MethodHandle NEW_SELECTION = Targets.find_constructor("Selection");
+    static final MethodHandle SELECT = Targets.find_virtual("Selection", "select", void.class, String.class,
+            double[].class, int.class, int.class, RandomGenerator.class, int[].class);
+
+    @Param({ "10", "100", "1000", "10000", "100000", "1000000" })
+    int pop_size;
+
+    @Param({ "4", "64", "1024" })
+    int k;
+
+    @Param({ "uniform", "exponential", "pareto" })
+    String distribution;
+
+    List<Object> pop;
+    double[] fit;
+    List<Integer> int_fit;
+    Object selection;
+    final SplittableRandom rng = new SplittableRandom(7);
+    int[] out;
+    int picks;
+
+    @Setup
+    public void setup() throws Throwable {
+        picks = Math.min(k, pop_size);
+        fit = FitnessDistributions.generate(distribution, pop_size, 42);
+        pop = new ArrayList<>(pop_size);
+        int_fit = new ArrayList<>(pop_size);
+        for (int i = 0; i < pop_size; i++) {
+            pop.add(i);
+            int_fit.add((int) Math.round(fit[i] * 1000));
+        }
+        selection = (Object) NEW_SELECTION.invokeExact();
+        out = new int[picks];
+    }
+
+    // ---------- GA ----------
+    @Benchmark
+    public List<?> ga_canonical() {
+        return list(GA_CANONICAL);
+    }
+
+    @Benchmark
+    public List<?> ga_roulette() {
+        return list(GA_ROULETTE);
+    }
+
+    @Benchmark
+    public List<?> ga_rank() {
+        return list(GA_RANK);
+    }
+
+    @Benchmark
+    public List<?> ga_tournament() {
+        try {
+            return (List<?>) GA_TOURNAMENT.invokeExact(pop, fit, picks, 3);
+        } catch (Throwable t) {
+            throw Targets.rethrow(t);
+        }
+    }
+
+    @Benchmark
+    public List<?> ga_steady() {
+        return list(GA_STEADY);
+    }
+
+    // ---------- GA_SelectionOnly ----------
+    @Benchmark
+    public List<?> selection_only_canonical() {
+        return list(ONLY_CANONICAL);
+    }
+
+    @Benchmark
+    public List<?> selection_only_roulette() {
+        return list(ONLY_ROULETTE);
+    }
+
+    @Benchmark
+    public List<?> selection_only_tournament() {
+        try {
+            return (List<?>) ONLY_TOURNAMENT.invokeExact(pop, int_fit, picks, 3);
+        } catch (Throwable t) {
+            throw Targets.rethrow(t);
+        }
+    }
+
+    // ---------- Selection kernels (index output, no lists) ----------
+    @Benchmark
+    public int[] kernel_roulette() {
+        return kernel("roulette");
+    }
+
+    @Benchmark
+    public int[] kernel_rank() {
+        return kernel("rank");
+    }
+
+    @Benchmark
+    public int[] kernel_tournament() {
+        return kernel("tournament");
+    }
+
+    @Benchmark
+    public int[] kernel_steady() {
+        return kernel("steady");
+    }
+
+    // ---------- HELPERS ----------
+    static MethodHandle list_op(String cls, String name) {
+        return Targets.find_static(cls, name, List.class, List.class, double[].class, int.class);
+    }
+
+    List<?> list(MethodHandle op) {
+        try {
+            return (List<?>) op.invokeExact(pop, fit, picks);
+        } catch (Throwable t) {
+            throw Targets.rethrow(t);
+        }
+    }
+
+    int[] kernel(String method) {
+        try {
+            SELECT.invokeExact(selection, method, fit, pop_size, picks, (RandomGenerator) rng, out);
+        } catch (Throwable t) {
+            throw Targets.rethrow(t);
+        }
+        return out;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+                .include(SelectionBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
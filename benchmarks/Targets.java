@@ -0,0 +1,77 @@
+package benchmarks;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+// The optimizers live in the unnamed package, which named packages cannot
+// import, and JMH refuses benchmarks in the unnamed package. Benchmarks
+// therefore bind to the operators through static final MethodHandles; the
+// JIT treats those as constants, so calls cost the same as direct ones.
+final class Targets {
+
+    private Targets() {
+    }
+
+    static Class<?> type(String name) {
+        try {
+            return Class.forName(name);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("Put the optimizer classes on the benchmark classpath", e);
+        }
+    }
+
+    static MethodHandle find_static(String cls, String name, Class<?> ret, Class<?>... params) {
+        try {
+            Class<?> owner = type(cls);
+            return MethodHandles.privateLookupIn(owner, MethodHandles.lookup())
+                    .findStatic(owner, name, MethodType.methodType(ret, params));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(cls + "." + name, e);
+        }
+    }
+
+    // the receiver is typed Object so benchmarks can invokeExact without naming the class
+    static MethodHandle find_virtual(String cls, String name, Class<?> ret, Class<?>... params) {
+        try {
+            Class<?> owner = type(cls);
+            MethodHandle h = MethodHandles.privateLookupIn(owner, MethodHandles.lookup())
+                    .findVirtual(owner, name, MethodType.methodType(ret, params));
+            return h.asType(h.type().changeParameterType(0, Object.class));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(cls + "." + name, e);
+        }
+    }
+
+    static MethodHandle find_constructor(String cls, Class<?>... params) {
+        try {
+            Class<?> owner = type(cls);
+            MethodHandle h = MethodHandles.privateLookupIn(owner, MethodHandles.lookup())
+                    .findConstructor(owner, MethodType.methodType(void.class, params));
+            return h.asType(h.type().changeReturnType(Object.class));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("new " + cls, e);
+        }
+    }
+
+    // retypes every parameter/return of the given unnamed-package class as Object
+    static MethodHandle hide(MethodHandle h, Class<?> hidden) {
+        MethodType t = h.type();
+        if (t.returnType() == hidden)
+            t = t.changeReturnType(Object.class);
+        for (int i = 0; i < t.parameterCount(); i++) {
+            if (t.parameterType(i) == hidden)
+                t = t.changeParameterType(i, Object.class);
+        }
+        return h.asType(t);
+    }
+
+    // checked exceptions from invokeExact are rethrown unchecked
+    static RuntimeException rethrow(Throwable t) {
+        if (t instanceof RuntimeException)
+            return (RuntimeException) t;
+        if (t instanceof Error)
+            throw (Error) t;
+        return new IllegalStateException(t);
+    }
+}
@@ -1,4 +1,5 @@
 import java.util.*;
+import java.util.random.RandomGenerator;
 import java.util.stream.Collectors;
 
 public class GA_Selection_Crossover {
@@ -7,7 +8,7 @@ public class GA_Selection_Crossover {
     static final int CHROM_LENGTH = 6;
     static final int MATING_POOL_SIZE = 4;
 
-    static Random random = new Random();
+    static RandomGenerator random = RngService.global().stream("GA_Selection_Crossover");
 
     // -----------------------------------------------------------
     // CREATE POPULATION
@@ -35,15 +36,22 @@ public class GA_Selection_Crossover {
     // -----------------------------------------------------------
     // CANONICAL SELECTION (Pick top k)
     // -----------------------------------------------------------
-    static List<String> canonical_selection(List<String> pop, List<Integer> fit, int k) {
-        List<Integer> idx = new ArrayList<>();
-        for (int i = 0; i < fit.size(); i++) idx.add(i);
+    static <T> List<T> canonical_selection(List<T> pop, List<Integer> fit, int k) {
+        double[] f = new double[fit.size()];
+        for (int i = 0; i < f.length; i++)
+            f[i] = fit.get(i);
+        return canonical_selection(pop, f, k);
+    }
 
-        idx.sort((a, b) -> fit.get(b) - fit.get(a)); // high fitness first
+    // top k by descending fitness via partial selection, no full sort
+    static <T> List<T> canonical_selection(List<T> pop, double[] fit, int k) {
+        int[] idx = new int[fit.length];
+        IndexSort.identity(idx, idx.length);
+        IndexSort.select(idx, fit, idx.length, k, true);
 
-        List<String> selected = new ArrayList<>();
+        List<T> selected = new ArrayList<>();
         for (int i = 0; i < k; i++)
-            selected.add(pop.get(idx.get(i)));
+            selected.add(pop.get(idx[i]));
 
         return selected;
     }
@@ -98,6 +106,7 @@ public class GA_Selection_Crossover {
     // MAIN EXECUTION
     // -----------------------------------------------------------
     public static void main(String[] args) {
+        RngService.print_global_seed();
 
         // ✅ 1. Create population
         List<String> population = create_population(POP_SIZE, CHROM_LENGTH);
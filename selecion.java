@@ -1,4 +1,5 @@
 import java.util.*;
+import java.util.random.RandomGenerator;
 import java.util.stream.Collectors;
 
 public class GA_SelectionOnly {
@@ -7,7 +8,8 @@ public class GA_SelectionOnly {
     static final int CHROM_LENGTH = 6;
     static final int SELECT_COUNT = 4;
 
-    static Random random = new Random();
+    static RandomGenerator random = RngService.global().stream("GA_SelectionOnly");
+    static final PrefixSumSampler sampler = new PrefixSumSampler();
 
     // ---------- CREATE RANDOM POPULATION ----------
     static List<String> create_population(int size, int length) {
@@ -32,42 +34,46 @@ public class GA_SelectionOnly {
     }
 
     // ---------- CANONICAL SELECTION ----------
-    static List<String> canonical_selection(List<String> pop, List<Integer> fit, int k) {
-        List<Integer> idx = new ArrayList<>();
-        for (int i = 0; i < fit.size(); i++) idx.add(i);
+    static <T> List<T> canonical_selection(List<T> pop, List<Integer> fit, int k) {
+        double[] f = new double[fit.size()];
+        for (int i = 0; i < f.length; i++)
+            f[i] = fit.get(i);
+        return canonical_selection(pop, f, k);
+    }
 
-        // Sort population by descending fitness
-        idx.sort((a, b) -> fit.get(b) - fit.get(a));
+    // top k by descending fitness via partial selection, no full sort
+    static <T> List<T> canonical_selection(List<T> pop, double[] fit, int k) {
+        int[] idx = new int[fit.length];
+        IndexSort.identity(idx, idx.length);
+        IndexSort.select(idx, fit, idx.length, k, true);
 
-        List<String> selected = new ArrayList<>();
+        List<T> selected = new ArrayList<>();
         for (int i = 0; i < k; i++)
-            selected.add(pop.get(idx.get(i)));
+            selected.add(pop.get(idx[i]));
 
         return selected;
     }
 
     // ---------- ROULETTE WHEEL ----------
-    static List<String> roulette_selection(List<String> pop, List<Integer> fit, int k) {
-        double totalFit = fit.stream().mapToDouble(f -> f).sum();
-        List<String> selected = new ArrayList<>();
+    static <T> List<T> roulette_selection(List<T> pop, List<Integer> fit, int k) {
+        double[] f = new double[fit.size()];
+        for (int i = 0; i < f.length; i++)
+            f[i] = fit.get(i);
+        return roulette_selection(pop, f, k);
+    }
 
-        for (int s = 0; s < k; s++) {
-            double r = random.nextDouble() * totalFit;
-            double cum = 0;
-            for (int i = 0; i < pop.size(); i++) {
-                cum += fit.get(i);
-                if (cum >= r) {
-                    selected.add(pop.get(i));
-                    break;
-                }
-            }
-        }
+    // one prefix-sum table per call, O(log n) per pick
+    static <T> List<T> roulette_selection(List<T> pop, double[] fit, int k) {
+        sampler.build(fit, pop.size());
+        List<T> selected = new ArrayList<>();
+        for (int s = 0; s < k; s++)
+            selected.add(pop.get(sampler.sample(random)));
         return selected;
     }
 
     // ---------- TOURNAMENT SELECTION ----------
-    static List<String> tournament_selection(List<String> pop, List<Integer> fit, int k, int tSize) {
-        List<String> selected = new ArrayList<>();
+    static <T> List<T> tournament_selection(List<T> pop, List<Integer> fit, int k, int tSize) {
+        List<T> selected = new ArrayList<>();
 
         for (int s = 0; s < k; s++) {
             int bestIdx = random.nextInt(pop.size());
@@ -85,6 +91,7 @@ public class GA_SelectionOnly {
 
     // ---------- MAIN ----------
     public static void main(String[] args) {
+        RngService.print_global_seed();
 
         List<String> population = create_population(POP_SIZE, CHROM_LENGTH);
         List<Integer> fitness = population.stream().map(GA_SelectionOnly::fitness_function).collect(Collectors.toList());